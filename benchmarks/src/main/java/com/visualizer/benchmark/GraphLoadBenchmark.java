@@ -0,0 +1,94 @@
+package com.visualizer.benchmark;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.NoOpDatabaseConnection;
+import com.visualizer.model.GraphModel;
+
+import java.util.Random;
+
+/**
+ * Measures how long GraphModel takes to load a large random graph, how much heap it
+ * holds afterwards, and how fast getNodeById, BFS and DFS are once it is loaded.
+ * Logging goes to a no-op database so only the model itself is timed.
+ *
+ * Usage: GraphLoadBenchmark [edges] [nodes] [rounds] [objects|compact]   (defaults: 1000000 100000 5 objects)
+ */
+public class GraphLoadBenchmark {
+
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int edgeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int nodeCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        GraphModel.Storage storage = args.length > 3
+                ? GraphModel.Storage.valueOf(args[3].toUpperCase()) : GraphModel.Storage.OBJECTS;
+        if (nodeCount < 2 || (long) nodeCount * (nodeCount - 1) < edgeCount) {
+            throw new IllegalArgumentException("Not enough nodes for " + edgeCount + " distinct edges.");
+        }
+
+        // Ids and endpoints are generated up front so string building is not part of the timing
+        String[] ids = new String[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            ids[i] = "N" + i;
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        Random random = new Random(SEED);
+        for (int i = 0; i < edgeCount; i++) {
+            from[i] = random.nextInt(nodeCount);
+            to[i] = random.nextInt(nodeCount);
+        }
+
+        DatabaseInterface db = new NoOpDatabaseConnection();
+        System.out.printf("Graph load: %,d nodes, %,d edge attempts, %s storage, %d rounds (first is warm-up)%n",
+                nodeCount, edgeCount, storage, rounds);
+
+        for (int round = 0; round < rounds; round++) {
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            GraphModel model = new GraphModel(db, storage);
+            for (String id : ids) {
+                model.addNode(id);
+            }
+            int duplicates = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                try {
+                    model.addEdge(ids[from[i]], ids[to[i]]);
+                } catch (IllegalArgumentException e) {
+                    duplicates++; // Same random pair drawn twice
+                }
+            }
+            long loaded = System.nanoTime();
+
+            int found = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                if (model.getNodeById(ids[from[i]]) != null) found++;
+            }
+            long lookedUp = System.nanoTime();
+
+            int reached = model.bfs(ids[0]).size(); // Includes building the CSR view
+            long traversed = System.nanoTime();
+            model.dfs(ids[0]);
+            long deepTraversed = System.nanoTime();
+            long bytesPerEdge = (usedHeap() - heapBefore) / Math.max(1, model.getEdgeCount());
+
+            System.out.printf("round %d: load %,.1f ms (%,.0f edges/s, %d duplicates), %,d lookups %,.1f ms, "
+                            + "BFS reached %,d in %,.1f ms, DFS %,.1f ms, ~%d heap bytes/edge%n",
+                    round, millis(loaded - start), (edgeCount - duplicates) / ((loaded - start) / 1e9), duplicates,
+                    found, millis(lookedUp - loaded), reached, millis(traversed - lookedUp),
+                    millis(deepTraversed - traversed), bytesPerEdge);
+        }
+    }
+
+    // Rough: collects first so the figure mostly reflects live objects
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,78 @@
+package com.visualizer.benchmark;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.NoOpDatabaseConnection;
+import com.visualizer.model.LinkedListModel;
+
+import java.util.Random;
+
+/**
+ * Compares positional access on LinkedListModel with and without the skip index, for both
+ * linkings: random get and insertAt/removeAt pairs at random positions, with the average number
+ * of links followed per operation. Logging goes to a no-op database.
+ *
+ * Usage: LinkedListIndexBenchmark [size] [operations] [rounds]   (defaults: 100000 2000 3)
+ */
+public class LinkedListIndexBenchmark {
+
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        // Positions are drawn up front so the random generator is not part of the timing
+        int[] positions = new int[operations];
+        Random random = new Random(SEED);
+        for (int i = 0; i < operations; i++) {
+            positions[i] = random.nextInt(size);
+        }
+        DatabaseInterface db = new NoOpDatabaseConnection();
+        System.out.printf("Linked list index: %,d nodes, %,d operations, %d rounds (first is warm-up)%n",
+                size, operations, rounds);
+
+        for (int round = 0; round < rounds; round++) {
+            for (LinkedListModel.Linking linking : LinkedListModel.Linking.values()) {
+                for (boolean indexed : new boolean[]{false, true}) {
+                    run(round, size, positions, linking, indexed, db);
+                }
+            }
+        }
+    }
+
+    private static void run(int round, int size, int[] positions, LinkedListModel.Linking linking,
+                            boolean indexed, DatabaseInterface db) {
+        LinkedListModel model = new LinkedListModel(size + 1, db, linking);
+        for (int i = 0; i < size; i++) {
+            model.addLast("v" + i);
+        }
+        model.setIndexed(indexed);
+
+        long getSteps = 0;
+        long start = System.nanoTime();
+        for (int position : positions) {
+            model.get(position);
+            getSteps += model.getLastSteps();
+        }
+        long got = System.nanoTime();
+
+        long updateSteps = 0;
+        for (int position : positions) {
+            model.insertAt(position, "x");
+            updateSteps += model.getLastSteps();
+            model.removeAt(position);
+            updateSteps += model.getLastSteps();
+        }
+        long updated = System.nanoTime();
+
+        System.out.printf("round %d %-6s %-9s: get %,.1f ms (%,.1f steps), insert+remove %,.1f ms (%,.1f steps)%n",
+                round, linking, indexed ? "indexed" : "walk", millis(got - start),
+                getSteps / (double) positions.length, millis(updated - got),
+                updateSteps / (double) positions.length);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
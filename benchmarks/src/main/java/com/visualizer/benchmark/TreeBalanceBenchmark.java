@@ -0,0 +1,94 @@
+package com.visualizer.benchmark;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.NoOpDatabaseConnection;
+import com.visualizer.model.BinaryTreeModel;
+
+import java.util.Random;
+
+/**
+ * Compares the plain, AVL and red-black modes of BinaryTreeModel on sorted, random and
+ * adversarial (alternating smallest/largest) insert orders: insert time, search time,
+ * final height and rotations done. Logging goes to a no-op database.
+ *
+ * Usage: TreeBalanceBenchmark [keys] [rounds]   (defaults: 10000 3)
+ */
+public class TreeBalanceBenchmark {
+
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int keyCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        String[] orderNames = {"sorted", "random", "adversarial"};
+        int[][] orders = {sorted(keyCount), shuffled(keyCount), zigZag(keyCount)};
+        DatabaseInterface db = new NoOpDatabaseConnection();
+        System.out.printf("Tree balance: %,d keys, %d rounds (first is warm-up)%n", keyCount, rounds);
+
+        for (int round = 0; round < rounds; round++) {
+            for (int o = 0; o < orders.length; o++) {
+                for (BinaryTreeModel.Balance balance : BinaryTreeModel.Balance.values()) {
+                    run(round, orderNames[o], orders[o], balance, db);
+                }
+            }
+        }
+    }
+
+    private static void run(int round, String orderName, int[] keys, BinaryTreeModel.Balance balance,
+                            DatabaseInterface db) {
+        BinaryTreeModel model = new BinaryTreeModel(keys.length, db, balance);
+        long rotations = 0;
+        long start = System.nanoTime();
+        for (int key : keys) {
+            model.insert(key);
+            rotations += model.getLastRotations().size();
+        }
+        long inserted = System.nanoTime();
+
+        int found = 0;
+        for (int key : keys) {
+            if (model.search(key)) found++;
+        }
+        long searched = System.nanoTime();
+
+        System.out.printf("round %d %-11s %-9s: insert %,.1f ms, %,d searches %,.1f ms, height %d, %,d rotations%n",
+                round, orderName, balance, millis(inserted - start), found, millis(searched - inserted),
+                model.getHeight(), rotations);
+    }
+
+    private static int[] sorted(int n) {
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        return keys;
+    }
+
+    private static int[] shuffled(int n) {
+        int[] keys = sorted(n);
+        Random random = new Random(SEED);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = keys[i];
+            keys[i] = keys[j];
+            keys[j] = t;
+        }
+        return keys;
+    }
+
+    // 0, n-1, 1, n-2, ...: every insert lands at the bottom of a plain tree's single spine
+    private static int[] zigZag(int n) {
+        int[] keys = new int[n];
+        int low = 0;
+        int high = n - 1;
+        for (int i = 0; i < n; i++) {
+            keys[i] = (i & 1) == 0 ? low++ : high--;
+        }
+        return keys;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,89 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.model.BinaryTreeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BinaryTreeModel updates, lookups, order statistics and traversals for each balance mode.
+ * The tree holds the even keys 0, 2, ... 2(size-1), inserted in random order so even the
+ * unbalanced mode has a typical height; updates insert and delete an odd key.
+ */
+public class BinaryTreeModelBenchmark extends ModelBenchmark {
+
+    private static final int RANGE_WIDTH = 200; // About a hundred keys per range query
+
+    @Param({"NONE", "AVL", "RED_BLACK"})
+    public BinaryTreeModel.Balance balance;
+
+    private BinaryTreeModel tree;
+
+    @Override
+    void fill(Random random) {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = 2 * i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        tree = new BinaryTreeModel(size + 1, db, balance);
+        for (int key : keys) {
+            tree.insert(key);
+        }
+    }
+
+    @Benchmark
+    public int insertDelete() {
+        int key = 2 * nextPosition() + 1;
+        tree.insert(key);
+        return tree.delete(key).size();
+    }
+
+    @Benchmark
+    public boolean search() {
+        return tree.search(2 * nextPosition());
+    }
+
+    @Benchmark
+    public Object floor() {
+        return tree.floor(2 * nextPosition() + 1).result();
+    }
+
+    @Benchmark
+    public int rank() {
+        return tree.rank(2 * nextPosition()).result();
+    }
+
+    @Benchmark
+    public Object select() {
+        return tree.select(nextPosition()).result();
+    }
+
+    @Benchmark
+    public List<BinaryTreeModel.Node> range() {
+        int low = 2 * nextPosition();
+        return tree.range(low, low + RANGE_WIDTH).result();
+    }
+
+    @Benchmark
+    public List<BinaryTreeModel.Node> inOrder() {
+        return tree.getInOrderTraversal();
+    }
+
+    @Benchmark
+    public List<BinaryTreeModel.Node> preOrder() {
+        return tree.getPreOrderTraversal();
+    }
+
+    @Benchmark
+    public List<BinaryTreeModel.Node> postOrder() {
+        return tree.getPostOrderTraversal();
+    }
+}
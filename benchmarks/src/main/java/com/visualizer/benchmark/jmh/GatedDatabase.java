@@ -0,0 +1,53 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.OperationLog;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Forwards to the database under test, but drops logged operations until {@link #open()} is called.
+ * Benchmarks fill their models through it first, so a ten-million-element fixture
+ * is not written to SQLite or printed by the mock before anything is measured.
+ * Operations are passed on without their snapshot source: a snapshotting profile would otherwise encode
+ * the whole fixture every few hundred operations, and the results would measure that instead of logging.
+ */
+final class GatedDatabase implements DatabaseInterface {
+
+    private final DatabaseInterface delegate;
+    private boolean open;
+
+    GatedDatabase(DatabaseInterface delegate) {
+        this.delegate = delegate;
+    }
+
+    void open() {
+        open = true;
+    }
+
+    @Override
+    public void executeUpdate(String sql) {
+        if (open) delegate.executeUpdate(sql);
+    }
+
+    @Override
+    public void logOperation(String structure, String operation, String value) {
+        if (open) delegate.logOperation(structure, operation, value);
+    }
+
+    @Override
+    public void logOperations(List<OperationLog> entries) {
+        if (open) delegate.logOperations(entries);
+    }
+
+    @Override
+    public void logOperation(String structure, String operation, String value, Supplier<byte[]> snapshot) {
+        logOperation(structure, operation, value);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.model.GraphModel;
+import com.visualizer.model.PathResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * GraphModel traversals, shortest paths and component queries for each storage, on a random
+ * acyclic graph of {@code size} nodes and about twice as many weighted edges. Every edge points
+ * from a lower to a higher node number, so a topological order exists, and every node has an
+ * edge from some earlier one, so traversals from N0 visit the whole graph.
+ * Loading itself is covered by GraphLoadBenchmark.
+ */
+public class GraphModelBenchmark extends ModelBenchmark {
+
+    private static final int EDGES_PER_NODE = 2;
+    private static final String START = "N0";
+
+    @Param({"OBJECTS", "COMPACT"})
+    public GraphModel.Storage storage;
+
+    private GraphModel graph;
+    private String[] ids;
+
+    @Override
+    void fill(Random random) {
+        graph = new GraphModel(db, storage);
+        ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = "N" + i;
+            graph.addNode(ids[i]);
+        }
+        for (int i = 1; i < size; i++) {
+            graph.addEdge(ids[random.nextInt(i)], ids[i], weight(random));
+        }
+        for (long e = size; e < (long) EDGES_PER_NODE * size; e++) {
+            int a = random.nextInt(size);
+            int b = random.nextInt(size);
+            if (a == b) continue;
+            try {
+                graph.addEdge(ids[Math.min(a, b)], ids[Math.max(a, b)], weight(random));
+            } catch (IllegalArgumentException ex) {
+                // Same pair drawn twice
+            }
+        }
+        graph.dfs(START); // Builds the cached adjacency arrays outside the measurement
+    }
+
+    private static double weight(Random random) {
+        return 1 + random.nextInt(10);
+    }
+
+    @Benchmark
+    public GraphModel.Node getNodeById() {
+        return graph.getNodeById(ids[nextPosition()]);
+    }
+
+    @Benchmark
+    public List<GraphModel.Node> bfs() {
+        return graph.bfs(START);
+    }
+
+    @Benchmark
+    public List<GraphModel.Node> bfsParallel() {
+        return graph.bfs(START, GraphModel.TraversalEngine.PARALLEL);
+    }
+
+    @Benchmark
+    public List<GraphModel.Node> dfs() {
+        return graph.dfs(START);
+    }
+
+    @Benchmark
+    public PathResult dijkstra() {
+        return graph.dijkstra(START, null, false);
+    }
+
+    @Benchmark
+    public List<GraphModel.Node> topologicalOrder() {
+        return graph.topologicalOrder();
+    }
+
+    @Benchmark
+    public List<List<GraphModel.Node>> stronglyConnectedComponents() {
+        return graph.stronglyConnectedComponents();
+    }
+}
@@ -0,0 +1,33 @@
+package com.visualizer.benchmark.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the model benchmarks and writes the results as JSON, so runs from different releases
+ * can be compared. It is the main class of the jar built by benchmarks/pom.xml and takes the
+ * usual JMH options; the defaults are every benchmark in this package and jmh-results.json.
+ * Narrow a run with parameters, e.g.
+ * <pre>
+ *   java -jar benchmarks/target/benchmarks.jar StackModelBenchmark -p size=1000,100000 -p database=none,sqlite
+ * </pre>
+ */
+public class JmhMain {
+
+    private static final String DEFAULT_INCLUDE = "com\\.visualizer\\.benchmark\\.jmh\\..*Benchmark";
+    private static final String DEFAULT_RESULT_FILE = "jmh-results.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getIncludes().isEmpty()) options.include(DEFAULT_INCLUDE);
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) options.result(DEFAULT_RESULT_FILE);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.model.LinkedListModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.Random;
+
+/**
+ * LinkedListModel operations at both ends, at random positions and by value, for each linking
+ * with and without the skip index. Positional and value lookups walk the list, so expect them
+ * to grow with {@code size} unless the index is on.
+ */
+public class LinkedListModelBenchmark extends ModelBenchmark {
+
+    private static final int PROBES = 256;
+
+    @Param({"SINGLY", "DOUBLY"})
+    public LinkedListModel.Linking linking;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private LinkedListModel list;
+    private String[] probes; // Values known to be in the list
+    private int probe;
+
+    @Override
+    void fill(Random random) {
+        list = new LinkedListModel(size + 1, db, linking);
+        for (int i = 0; i < size; i++) {
+            list.addLast("v" + i);
+        }
+        list.setIndexed(indexed);
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = "v" + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public String addFirstRemoveFirst() {
+        list.addFirst("x");
+        return list.removeFirst();
+    }
+
+    @Benchmark
+    public String addLastRemoveLast() {
+        list.addLast("x");
+        return list.removeLast();
+    }
+
+    @Benchmark
+    public String insertAtRemoveAt() {
+        int position = nextPosition();
+        list.insertAt(position, "x");
+        return list.removeAt(position);
+    }
+
+    @Benchmark
+    public String get() {
+        return list.get(nextPosition());
+    }
+
+    @Benchmark
+    public int find() {
+        return list.find(probes[probe++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,98 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.DatabaseProfile;
+import com.visualizer.database.NoOpDatabaseConnection;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Common setup for the model benchmarks: a model of {@code size} elements, built once per trial,
+ * logging to the database named by {@code database} ("none", or a DatabaseProfile name such as
+ * "mock", "sqlite" or "sqlite-tuned"). SQLite profiles write to a temporary file that is
+ * deleted afterwards.
+ *
+ * Operations that change the model are measured in pairs that undo each other (push and pop,
+ * insert and delete), so the size stays put for the whole trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public abstract class ModelBenchmark {
+
+    static final long SEED = 42;
+    private static final int POSITIONS = 1 << 12; // Power of two, so the cursor wraps with a mask
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"none", "mock", "sqlite"})
+    public String database;
+
+    GatedDatabase db;
+    private Path dbFile;
+    private int[] positions;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        db = new GatedDatabase(open(database));
+        // Drawn up front so the random generator is not part of the timing
+        Random random = new Random(SEED);
+        positions = new int[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = random.nextInt(size);
+        }
+        fill(random);
+        db.open();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        db.close(); // Drains queued writes before the file goes
+        if (dbFile != null) {
+            for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+                Files.deleteIfExists(Path.of(dbFile + suffix));
+            }
+        }
+    }
+
+    /**
+     * Builds the model and anything the benchmarks read from. Nothing is logged while this runs.
+     */
+    abstract void fill(Random random);
+
+    /**
+     * The next of a fixed sequence of random positions in [0, size).
+     */
+    final int nextPosition() {
+        return positions[cursor++ & (POSITIONS - 1)];
+    }
+
+    private DatabaseInterface open(String name) throws IOException {
+        if (name.equalsIgnoreCase("none")) return new NoOpDatabaseConnection();
+        DatabaseProfile profile = DatabaseProfile.fromName(name);
+        if (profile == DatabaseProfile.MOCK) return profile.open(null);
+        dbFile = Files.createTempFile("structurize-bench", ".db");
+        return profile.open(dbFile.toString());
+    }
+}
@@ -0,0 +1,34 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.model.QueueModel;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Random;
+
+/**
+ * QueueModel enqueue/dequeue and random access on a queue holding {@code size} elements.
+ * The pair moves the front along, so the circular buffer wraps during a trial.
+ */
+public class QueueModelBenchmark extends ModelBenchmark {
+
+    private QueueModel queue;
+
+    @Override
+    void fill(Random random) {
+        queue = new QueueModel(size + 1, db);
+        for (int i = 0; i < size; i++) {
+            queue.enqueue("v" + i);
+        }
+    }
+
+    @Benchmark
+    public String enqueueDequeue() {
+        queue.enqueue("x");
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public String get() {
+        return queue.get(nextPosition());
+    }
+}
@@ -0,0 +1,33 @@
+package com.visualizer.benchmark.jmh;
+
+import com.visualizer.model.StackModel;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Random;
+
+/**
+ * StackModel push/pop and random access on a stack holding {@code size} elements.
+ */
+public class StackModelBenchmark extends ModelBenchmark {
+
+    private StackModel stack;
+
+    @Override
+    void fill(Random random) {
+        stack = new StackModel(size + 1, db);
+        for (int i = 0; i < size; i++) {
+            stack.push("v" + i);
+        }
+    }
+
+    @Benchmark
+    public String pushPop() {
+        stack.push("x");
+        return stack.pop();
+    }
+
+    @Benchmark
+    public String get() {
+        return stack.get(nextPosition());
+    }
+}
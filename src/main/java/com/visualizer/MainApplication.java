@@ -2,8 +2,9 @@ package com.visualizer;
 
 import com.visualizer.controller.MainMenuController;
 import com.visualizer.database.DatabaseInterface;
-import com.visualizer.database.MockDatabaseConnection;
-import com.visualizer.database.SQLiteDatabaseConnection;
+import com.visualizer.database.DatabaseProfile;
+import com.visualizer.database.LogRetentionJob;
+import com.visualizer.database.RetentionPolicy;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,15 +15,19 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class MainApplication extends Application {
 
     private Stage primaryStage;
     private TabPane mainTabPane;
     private DatabaseInterface db;
+    private ScheduledExecutorService maintenanceExecutor;
 
-    // Flag to swap database implementation
-    private static final boolean USE_MOCK_DATABASE = false;
+    private static final String DB_FILE = "data_structure_visualizer.db";
+    private static final long RETENTION_INTERVAL_MINUTES = 30;
 
     @Override
     public void start(Stage stage) throws IOException {
@@ -49,14 +54,27 @@ public class MainApplication extends Application {
     }
 
     private void initializeDatabase() {
-        if (USE_MOCK_DATABASE) {
-            db = new MockDatabaseConnection();
-        } else {
-            db = new SQLiteDatabaseConnection("data_structure_visualizer.db");
+        // Pick the implementation from the --db=<profile> launch parameter (mock, sqlite, sqlite-tuned)
+        DatabaseProfile profile = DatabaseProfile.fromName(getParameters().getNamed().get("db"));
+        db = profile.open(DB_FILE);
+
+        // Keep the log file from growing forever; the job uses its own connection
+        if (profile != DatabaseProfile.MOCK) {
+            maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "log-retention");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+            maintenanceExecutor.scheduleWithFixedDelay(new LogRetentionJob(DB_FILE, RetentionPolicy.DEFAULT),
+                    1, RETENTION_INTERVAL_MINUTES, TimeUnit.MINUTES);
         }
 
-        // Add a shutdown hook to close the database connection
+        // Add a shutdown hook to close the database connection (flushes pending writes)
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (maintenanceExecutor != null) {
+                maintenanceExecutor.shutdownNow();
+            }
             if (db != null) {
                 db.close();
             }
@@ -88,6 +106,6 @@ public class MainApplication extends Application {
     }
 
     public static void main(String[] args) {
-        launch();
+        launch(args);
     }
 }
\ No newline at end of file
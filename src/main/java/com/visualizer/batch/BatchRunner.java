@@ -0,0 +1,219 @@
+package com.visualizer.batch;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.DatabaseProfile;
+import com.visualizer.database.NoOpDatabaseConnection;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs a script of model operations without JavaFX, for regression runs and load tests on
+ * machines without a display. Each line is "structure command [arguments]", for example:
+ * <pre>
+ *   bst new 1000 avl
+ *   stack push a
+ *   graph addEdge A B 2.5
+ *   repeat 100000 list addLast v{i}
+ * </pre>
+ * Structures are stack, queue, list, bst and graph; see BatchSession for their commands.
+ * "structure restore" rebuilds a structure from the database's snapshot and operation log.
+ * "repeat n" runs the rest of its line n times with {i} replaced by 0 to n-1.
+ * Blank lines and lines starting with # are skipped. A failing line is reported on stderr and
+ * the script goes on; the exit status is 1 if any line failed.
+ *
+ * Only the model call is timed. Results and timings go to stdout (one line per script line,
+ * then a summary per command), and with --csv to a file with one row per executed command.
+ *
+ * Usage: BatchRunner [script|-] [--db=none|mock|sqlite|sqlite-tuned] [--db-file=file] [--csv=file] [--quiet]
+ *        (defaults: stdin, none, batch_runner.db)
+ * An unknown --db name is an error. The database file is separate from the application's by default,
+ * so load tests neither fill nor restore from the log the UI uses.
+ */
+public class BatchRunner {
+
+    private static final String DEFAULT_DB_FILE = "batch_runner.db";
+    private static final String REPEAT = "repeat";
+
+    private final BatchSession session;
+    private final PrintWriter csv; // Null when no CSV was requested
+    private final boolean quiet;
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private int failures;
+
+    // Running totals for one structure and command
+    private static final class Stats {
+        long count;
+        long failed;
+        long nanos;
+    }
+
+    BatchRunner(DatabaseInterface db, PrintWriter csv, boolean quiet) {
+        this.session = new BatchSession(db);
+        this.csv = csv;
+        this.quiet = quiet;
+        if (csv != null) csv.println("line,iteration,structure,command,arguments,result,nanos,error");
+    }
+
+    public static void main(String[] args) {
+        String script = "-";
+        String dbName = "none";
+        String dbFile = DEFAULT_DB_FILE;
+        String csvFile = null;
+        boolean quiet = false;
+        for (String arg : args) {
+            if (arg.startsWith("--db=")) dbName = arg.substring("--db=".length());
+            else if (arg.startsWith("--db-file=")) dbFile = arg.substring("--db-file=".length());
+            else if (arg.startsWith("--csv=")) csvFile = arg.substring("--csv=".length());
+            else if (arg.equals("--quiet")) quiet = true;
+            else script = arg;
+        }
+
+        // The default is no logging at all, so only the models are measured
+        DatabaseProfile profile = null;
+        if (!dbName.equalsIgnoreCase("none")) {
+            try {
+                profile = DatabaseProfile.parse(dbName);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage() + "; expected none, mock, sqlite or sqlite-tuned");
+                System.exit(1);
+            }
+        }
+        DatabaseInterface db = profile == null ? new NoOpDatabaseConnection() : profile.open(dbFile);
+        boolean failed;
+        try (BufferedReader in = script.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(script));
+             PrintWriter csv = csvFile == null ? null
+                     : new PrintWriter(Files.newBufferedWriter(Path.of(csvFile)))) {
+            BatchRunner runner = new BatchRunner(db, csv, quiet);
+            runner.run(in);
+            runner.printSummary();
+            failed = runner.failures > 0;
+        } catch (IOException e) {
+            System.err.println("Error running batch script: " + e.getMessage());
+            failed = true;
+        } finally {
+            db.close(); // Flushes any queued log writes
+        }
+        if (failed) System.exit(1);
+    }
+
+    void run(BufferedReader in) throws IOException {
+        String line;
+        int number = 0;
+        while ((line = in.readLine()) != null) {
+            number++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] words = line.split("\\s+", 3);
+            if (words[0].equalsIgnoreCase(REPEAT)) {
+                runRepeat(number, line, words);
+            } else {
+                runLine(number, line);
+            }
+        }
+    }
+
+    private void runLine(int number, String line) {
+        String[] tokens = line.split("\\s+");
+        Outcome outcome = execute(number, 0, tokens);
+        if (outcome.error != null) {
+            reportFailure(number, outcome.error);
+        } else if (!quiet) {
+            String result = outcome.text.isEmpty() ? "" : " -> " + outcome.text;
+            System.out.printf("%5d  %s%s  (%.3f us)%n", number, line, result, outcome.nanos / 1e3);
+        }
+    }
+
+    private void runRepeat(int number, String line, String[] words) {
+        int times;
+        try {
+            if (words.length < 3) throw new NumberFormatException();
+            times = Integer.parseInt(words[1].replace("_", ""));
+        } catch (NumberFormatException e) {
+            reportFailure(number, "Expected 'repeat <count> <command>'");
+            return;
+        }
+        String body = words[2];
+        String[] fixed = body.contains("{i}") ? null : body.split("\\s+");
+        long nanos = 0;
+        int failed = 0;
+        for (int i = 0; i < times; i++) {
+            String[] tokens = fixed != null ? fixed : body.replace("{i}", Integer.toString(i)).split("\\s+");
+            Outcome outcome = execute(number, i, tokens);
+            nanos += outcome.nanos;
+            if (outcome.error != null && failed++ == 0) reportFailure(number, outcome.error + " (iteration " + i + ")");
+        }
+        if (failed > 1) System.err.printf("line %d: %d more failures%n", number, failed - 1);
+        if (!quiet) {
+            System.out.printf("%5d  %s  (%,d ok, %,d failed, %.3f ms, %.3f us/op)%n", number, line,
+                    times - failed, failed, nanos / 1e6, times == 0 ? 0 : nanos / 1e3 / times);
+        }
+    }
+
+    private record Outcome(String text, String error, long nanos) {
+    }
+
+    private Outcome execute(int number, int iteration, String[] tokens) {
+        String structure = tokens[0];
+        String command = tokens.length > 1 ? tokens[1] : "";
+        List<String> args = Arrays.asList(tokens).subList(Math.min(2, tokens.length), tokens.length);
+        Object result = null;
+        String error = null;
+        long start = System.nanoTime();
+        try {
+            result = session.execute(structure, command, args);
+        } catch (IllegalStateException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            error = e.getMessage();
+        }
+        long nanos = System.nanoTime() - start;
+
+        String text = error == null ? BatchSession.describe(result) : "";
+        String key = structure.toLowerCase(Locale.ROOT) + " " + command.toLowerCase(Locale.ROOT);
+        Stats s = stats.computeIfAbsent(key, k -> new Stats());
+        s.count++;
+        s.nanos += nanos;
+        if (error != null) s.failed++;
+        if (csv != null) {
+            csv.println(number + "," + iteration + "," + csvField(structure) + "," + csvField(command) + ","
+                    + csvField(String.join(" ", args)) + "," + csvField(text) + "," + nanos + ","
+                    + csvField(error == null ? "" : error));
+        }
+        return new Outcome(text, error, nanos);
+    }
+
+    private void reportFailure(int number, String message) {
+        failures++;
+        System.err.println("line " + number + ": " + message);
+    }
+
+    void printSummary() {
+        System.out.printf("%n%-24s %12s %8s %12s %12s%n", "command", "count", "failed", "total ms", "mean us");
+        long count = 0;
+        long nanos = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            System.out.printf("%-24s %,12d %,8d %12.3f %12.3f%n", entry.getKey(), s.count, s.failed,
+                    s.nanos / 1e6, s.nanos / 1e3 / s.count);
+            count += s.count;
+            nanos += s.nanos;
+        }
+        System.out.printf("%,d commands, %,d failed lines, %.3f ms in the models%n", count, failures, nanos / 1e6);
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,321 @@
+package com.visualizer.batch;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.model.BinaryTreeModel;
+import com.visualizer.model.GraphModel;
+import com.visualizer.model.LinkedListModel;
+import com.visualizer.model.OperationLogReplayer;
+import com.visualizer.model.PathResult;
+import com.visualizer.model.QueueModel;
+import com.visualizer.model.StackModel;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * The models a batch script works on, one of each kind, and the commands they accept.
+ * A model is created on first use with unbounded capacity unless the script starts it with "new",
+ * or rebuilt from the database's operation log with "restore" (e.g. "stack restore").
+ * Commands and mode names are case-insensitive; values are single tokens.
+ */
+final class BatchSession {
+
+    static final int UNBOUNDED = Integer.MAX_VALUE;
+    private static final int MAX_LISTED = 20; // Longer results are cut short when printed
+
+    private final DatabaseInterface db;
+    private StackModel stack;
+    private QueueModel queue;
+    private LinkedListModel list;
+    private BinaryTreeModel tree;
+    private GraphModel graph;
+
+    BatchSession(DatabaseInterface db) {
+        this.db = db;
+    }
+
+    /**
+     * Runs one command and returns its raw result, or null if it has none.
+     * Turning the result into text is left to {@link #describe(Object)}, so it is not part of any timing.
+     * @throws IllegalArgumentException If the structure, command or an argument is not understood.
+     */
+    Object execute(String structure, String command, List<String> args) {
+        Args a = new Args(args);
+        String name = command.toLowerCase(Locale.ROOT);
+        return switch (structure.toLowerCase(Locale.ROOT)) {
+            case "stack" -> stack(name, a);
+            case "queue" -> queue(name, a);
+            case "list" -> list(name, a);
+            case "bst" -> tree(name, a);
+            case "graph" -> graph(name, a);
+            default -> throw new IllegalArgumentException("Unknown structure '" + structure + "'");
+        };
+    }
+
+    private Object stack(String command, Args args) {
+        if (command.equals("new")) {
+            stack = new StackModel(args.integerOr(0, UNBOUNDED), db);
+            return null;
+        }
+        if (command.equals("restore")) {
+            OperationLogReplayer.Result<StackModel> result = new OperationLogReplayer(db).restoreStack(db);
+            stack = result.model();
+            return result;
+        }
+        if (stack == null) stack = new StackModel(UNBOUNDED, db);
+        return switch (command) {
+            case "push" -> {
+                stack.push(args.text(0));
+                yield null;
+            }
+            case "pop" -> stack.pop();
+            case "size" -> stack.getSize();
+            case "reset" -> {
+                stack.reset();
+                yield null;
+            }
+            default -> throw unknown("stack", command);
+        };
+    }
+
+    private Object queue(String command, Args args) {
+        if (command.equals("new")) {
+            queue = new QueueModel(args.integerOr(0, UNBOUNDED), db);
+            return null;
+        }
+        if (command.equals("restore")) {
+            OperationLogReplayer.Result<QueueModel> result = new OperationLogReplayer(db).restoreQueue(db);
+            queue = result.model();
+            return result;
+        }
+        if (queue == null) queue = new QueueModel(UNBOUNDED, db);
+        return switch (command) {
+            case "enqueue" -> {
+                queue.enqueue(args.text(0));
+                yield null;
+            }
+            case "dequeue" -> queue.dequeue();
+            case "size" -> queue.getSize();
+            case "reset" -> {
+                queue.reset();
+                yield null;
+            }
+            default -> throw unknown("queue", command);
+        };
+    }
+
+    private Object list(String command, Args args) {
+        if (command.equals("new")) {
+            list = new LinkedListModel(args.integerOr(0, UNBOUNDED), db,
+                    args.modeOr(1, LinkedListModel.Linking.class, LinkedListModel.Linking.SINGLY));
+            return null;
+        }
+        if (command.equals("restore")) {
+            OperationLogReplayer.Result<LinkedListModel> result = new OperationLogReplayer(db).restoreLinkedList(db);
+            list = result.model();
+            return result;
+        }
+        if (list == null) list = new LinkedListModel(UNBOUNDED, db);
+        return switch (command) {
+            case "addfirst" -> {
+                list.addFirst(args.text(0));
+                yield null;
+            }
+            case "addlast" -> {
+                list.addLast(args.text(0));
+                yield null;
+            }
+            case "insertat" -> {
+                list.insertAt(args.integer(0), args.text(1));
+                yield null;
+            }
+            case "removefirst" -> list.removeFirst();
+            case "removelast" -> list.removeLast();
+            case "removeat" -> list.removeAt(args.integer(0));
+            case "get" -> list.get(args.integer(0));
+            case "find" -> list.find(args.text(0));
+            case "index" -> {
+                list.setIndexed(args.flag(0));
+                yield null;
+            }
+            case "size" -> list.getSize();
+            case "reset" -> {
+                list.reset();
+                yield null;
+            }
+            default -> throw unknown("list", command);
+        };
+    }
+
+    private Object tree(String command, Args args) {
+        if (command.equals("new")) {
+            tree = new BinaryTreeModel(args.integerOr(0, UNBOUNDED), db,
+                    args.modeOr(1, BinaryTreeModel.Balance.class, BinaryTreeModel.Balance.NONE));
+            return null;
+        }
+        if (command.equals("restore")) {
+            OperationLogReplayer.Result<BinaryTreeModel> result = new OperationLogReplayer(db).restoreBinaryTree(db);
+            tree = result.model();
+            return result;
+        }
+        if (tree == null) tree = new BinaryTreeModel(UNBOUNDED, db);
+        return switch (command) {
+            case "insert" -> {
+                tree.insert(args.integer(0));
+                yield null;
+            }
+            case "delete" -> {
+                tree.delete(args.integer(0));
+                yield null;
+            }
+            case "search" -> tree.search(args.integer(0));
+            case "min" -> tree.min().result();
+            case "max" -> tree.max().result();
+            case "floor" -> tree.floor(args.integer(0)).result();
+            case "ceiling" -> tree.ceiling(args.integer(0)).result();
+            case "rank" -> tree.rank(args.integer(0)).result();
+            case "select" -> tree.select(args.integer(0)).result();
+            case "range" -> tree.range(args.integer(0), args.integer(1)).result();
+            case "rangecount" -> tree.rangeCount(args.integer(0), args.integer(1)).result();
+            case "inorder" -> tree.getInOrderTraversal();
+            case "preorder" -> tree.getPreOrderTraversal();
+            case "postorder" -> tree.getPostOrderTraversal();
+            case "height" -> tree.getHeight();
+            case "size" -> tree.getSize();
+            case "reset" -> {
+                tree.reset();
+                yield null;
+            }
+            default -> throw unknown("bst", command);
+        };
+    }
+
+    private Object graph(String command, Args args) {
+        if (command.equals("new")) {
+            graph = new GraphModel(db, args.modeOr(0, GraphModel.Storage.class, GraphModel.Storage.OBJECTS));
+            return null;
+        }
+        if (command.equals("restore")) {
+            OperationLogReplayer.Result<GraphModel> result = new OperationLogReplayer(db).restoreGraph(db);
+            graph = result.model();
+            return result;
+        }
+        if (graph == null) graph = new GraphModel(db);
+        return switch (command) {
+            case "addnode" -> {
+                graph.addNode(args.text(0));
+                yield null;
+            }
+            case "addedge" -> {
+                if (args.size() > 2) {
+                    graph.addEdge(args.text(0), args.text(1), args.decimal(2));
+                } else {
+                    graph.addEdge(args.text(0), args.text(1));
+                }
+                yield null;
+            }
+            case "bfs" -> graph.bfs(args.text(0),
+                    args.modeOr(1, GraphModel.TraversalEngine.class, GraphModel.TraversalEngine.SEQUENTIAL));
+            case "dfs" -> graph.dfs(args.text(0));
+            case "dijkstra" -> graph.dijkstra(args.text(0), args.textOr(1, null), false);
+            case "bellmanford" -> graph.bellmanFord(args.text(0), args.textOr(1, null), false);
+            case "topo" -> graph.topologicalOrder();
+            case "scc" -> graph.stronglyConnectedComponents();
+            case "hascycle" -> graph.hasCycle();
+            case "nodes" -> graph.getNodeCount();
+            case "edges" -> graph.getEdgeCount();
+            case "reset" -> {
+                graph.reset();
+                yield null;
+            }
+            default -> throw unknown("graph", command);
+        };
+    }
+
+    private static IllegalArgumentException unknown(String structure, String command) {
+        return new IllegalArgumentException("Unknown " + structure + " command '" + command + "'");
+    }
+
+    /**
+     * Text for a command result: node values or ids instead of objects, and at most
+     * {@value #MAX_LISTED} list entries followed by the total.
+     */
+    static String describe(Object result) {
+        if (result == null) return "";
+        if (result instanceof BinaryTreeModel.Node node) return String.valueOf(node.value);
+        if (result instanceof GraphModel.Node node) return node.id;
+        if (result instanceof OperationLogReplayer.Result<?> restored) {
+            return String.format("%,d rows applied, %,d skipped, up to log id %d",
+                    restored.applied(), restored.skipped(), restored.lastLogId());
+        }
+        if (result instanceof PathResult path) {
+            if (path.negativeCycle()) return "negative cycle";
+            if (path.path().isEmpty()) return "settled " + path.settled();
+            return describe(path.path()) + " distance " + path.distance();
+        }
+        if (result instanceof List<?> items) {
+            String shown = items.stream().limit(MAX_LISTED).map(BatchSession::describe)
+                    .collect(Collectors.joining(" ", "[", items.size() > MAX_LISTED ? " ..." : ""));
+            return shown + "] (" + items.size() + ")";
+        }
+        return result.toString();
+    }
+
+    // Positional command arguments, with parse errors reported as IllegalArgumentException
+    private record Args(List<String> tokens) {
+
+        int size() {
+            return tokens.size();
+        }
+
+        String text(int i) {
+            if (i >= tokens.size()) throw new IllegalArgumentException("Missing argument " + (i + 1));
+            return tokens.get(i);
+        }
+
+        String textOr(int i, String fallback) {
+            return i < tokens.size() ? tokens.get(i) : fallback;
+        }
+
+        int integer(int i) {
+            String token = text(i).replace("_", "");
+            try {
+                return Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Argument " + (i + 1) + " must be an integer: " + token);
+            }
+        }
+
+        int integerOr(int i, int fallback) {
+            if (i >= tokens.size() || tokens.get(i).equalsIgnoreCase("unbounded")) return fallback;
+            return integer(i);
+        }
+
+        double decimal(int i) {
+            try {
+                return Double.parseDouble(text(i));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Argument " + (i + 1) + " must be a number: " + text(i));
+            }
+        }
+
+        boolean flag(int i) {
+            return switch (text(i).toLowerCase(Locale.ROOT)) {
+                case "on", "true" -> true;
+                case "off", "false" -> false;
+                default -> throw new IllegalArgumentException("Argument " + (i + 1) + " must be on or off");
+            };
+        }
+
+        <E extends Enum<E>> E modeOr(int i, Class<E> type, E fallback) {
+            if (i >= tokens.size()) return fallback;
+            try {
+                return Enum.valueOf(type, tokens.get(i).toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT)
+                        + " '" + tokens.get(i) + "'");
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.visualizer.controller;
 
 import com.visualizer.database.DatabaseInterface;
+import com.visualizer.layout.TidyTreeLayout;
 import com.visualizer.model.BinaryTreeModel;
+import com.visualizer.model.ModelListener;
 import javafx.animation.*;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.Group;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
@@ -18,9 +21,13 @@ import javafx.scene.shape.Line;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public class BinaryTreeController {
 
@@ -28,29 +35,95 @@ public class BinaryTreeController {
     @FXML private Pane visualizationPane;
     @FXML private Label explanationLabel;
     @FXML private HBox controlsBox; // To disable buttons during animation
+    @FXML private HBox queriesBox; // Min/Max/.../Range, also off while the tree is animating
     @FXML private Button insertButton;
     @FXML private Button searchButton;
     @FXML private Button resetButton;
+    @FXML private ChoiceBox<BinaryTreeModel.Balance> balanceChoiceBox;
+    @FXML private TextField rangeLowTextField;
+    @FXML private TextField rangeHighTextField;
 
     private BinaryTreeModel model;
     private DatabaseInterface db;
+    private int capacity;
     private final Map<BinaryTreeModel.Node, Group> nodeMap = new HashMap<>();
+    private final Map<BinaryTreeModel.Node, Line> edgeMap = new HashMap<>(); // Keyed by the child end
+    private final Group edgeLayer = new Group();
+    private final Group nodeLayer = new Group();
+    private final Group markerLayer = new Group(); // "+N deeper" under subtrees cut off by the level cap
+    private Timeline moveAnimation;
     private static final double NODE_RADIUS = 20;
     private static final double V_GAP = 60;
+    private static final double H_SEPARATION = 2 * NODE_RADIUS + 10;
+    private static final double TOP_PADDING = 30;
+    private static final double MARGIN = 10;
+    // Trees up to a full nine levels are drawn whole. Past that only the top levels are, so a tree
+    // of millions of nodes costs only what is on screen
+    private static final int MAX_DRAWN_NODES = 511;
+    private static final int MAX_VISIBLE_LEVELS = 8;
+    private static final String ANSWER_HIDDEN = " (answer lies below the visible levels)";
+    private static final String PATH_HIDDEN = " (path continues below the visible levels)";
+    private static final int MAX_LISTED_VALUES = 100;
+    private static final Duration MOVE_DURATION = Duration.millis(400);
+    private static final Duration ADDITION_DURATION = Duration.millis(300);
+    private static final Color NODE_COLOR = Color.web("#007acc");
+    private static final Color RED_NODE_COLOR = Color.web("#ff5555");
+    private static final Color ROTATION_COLOR = Color.web("#bd93f9");
+    private static final Color PATH_COLOR = Color.web("#00aaff");
+    private static final Color FOUND_COLOR = Color.web("#00b300");
+
+    // Rotations the model reported during the current insert or delete, replayed once the layout has settled
+    private final List<BinaryTreeModel.Rotation> rotations = new ArrayList<>();
+    private final ModelListener viewUpdater = new ModelListener() {
+        @Override
+        public void rotated(BinaryTreeModel.Rotation rotation) {
+            rotations.add(rotation);
+        }
+
+        @Override
+        public void cleared() {
+            clearView();
+        }
+    };
 
     public void initializeModel(int capacity, DatabaseInterface db) {
         this.model = new BinaryTreeModel(capacity, db);
         this.db = db;
+        model.addListener(viewUpdater);
+        this.capacity = capacity;
+        balanceChoiceBox.getItems().setAll(BinaryTreeModel.Balance.values());
+        balanceChoiceBox.setValue(BinaryTreeModel.Balance.NONE);
+        balanceChoiceBox.setOnAction(e -> handleBalanceChange());
+        visualizationPane.getChildren().setAll(edgeLayer, nodeLayer, markerLayer);
+        visualizationPane.widthProperty().addListener((obs, oldWidth, newWidth) -> relayout(null));
+        visualizationPane.heightProperty().addListener((obs, oldHeight, newHeight) -> relayout(null));
+    }
+
+    // A tree cannot change mode in place, so switching starts a new one
+    private void handleBalanceChange() {
+        BinaryTreeModel.Balance balance = balanceChoiceBox.getValue();
+        if (balance == null || balance == model.getBalance()) return;
+        model.removeListener(viewUpdater);
+        model = new BinaryTreeModel(capacity, db, balance);
+        model.addListener(viewUpdater);
+        clearView();
+        setExplanation(switch (balance) {
+            case NONE -> "Plain binary search tree";
+            case AVL -> "AVL tree: subtree heights differ by at most one";
+            case RED_BLACK -> "Red-black tree: red links lean left and never come in pairs";
+        }, false);
     }
 
     @FXML
     private void handleInsert() {
         try {
             int value = Integer.parseInt(valueTextField.getText());
+            rotations.clear();
             model.insert(value);
-            setExplanation("Inserted " + value, false);
+            List<BinaryTreeModel.Rotation> done = List.copyOf(rotations);
+            setExplanation("Inserted " + value + describeRotations(done), false);
             valueTextField.clear();
-            redrawTree(model.getRoot(), null);
+            relayout(done.isEmpty() ? null : () -> animateRotations(done));
         } catch (NumberFormatException e) {
             setExplanation("Error: Value must be an integer", true);
         } catch (IllegalStateException | IllegalArgumentException e) {
@@ -63,14 +136,122 @@ public class BinaryTreeController {
         try {
             int value = Integer.parseInt(valueTextField.getText());
             boolean found = model.search(value);
-            setExplanation(found ? "Found " + value : "Did not find " + value, !found);
-            animateSearch(value);
+            boolean hidden = animateSearch(value);
+            String message = found ? "Found " + value : "Did not find " + value;
+            setExplanation(message + (hidden ? (found ? ANSWER_HIDDEN : PATH_HIDDEN) : ""), !found);
             valueTextField.clear();
         } catch (NumberFormatException e) {
             setExplanation("Error: Value must be an integer", true);
         }
     }
 
+    @FXML
+    private void handleDelete() {
+        try {
+            int value = Integer.parseInt(valueTextField.getText());
+            rotations.clear();
+            List<BinaryTreeModel.Node> path = model.delete(value);
+            String message = "Deleted " + value + describeRotations(rotations);
+            valueTextField.clear();
+            // The path was recorded before the delete, so it still matches what is on screen
+            animatePath(path, null, () -> {
+                relayout(null);
+                setExplanation(message, false);
+            });
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Value must be an integer", true);
+        } catch (IllegalArgumentException e) {
+            setExplanation(e.getMessage(), true);
+        }
+    }
+
+    @FXML
+    private void handleMin() {
+        showQuery(model.min(), "Minimum");
+    }
+
+    @FXML
+    private void handleMax() {
+        showQuery(model.max(), "Maximum");
+    }
+
+    @FXML
+    private void handleFloor() {
+        readValue().ifPresent(value -> showQuery(model.floor(value), "Floor of " + value));
+    }
+
+    @FXML
+    private void handleCeiling() {
+        readValue().ifPresent(value -> showQuery(model.ceiling(value), "Ceiling of " + value));
+    }
+
+    @FXML
+    private void handleRank() {
+        readValue().ifPresent(value -> {
+            BinaryTreeModel.Trace<Integer> trace = model.rank(value);
+            boolean hidden = animatePath(trace.path(), null, null);
+            setExplanation(trace.result() + " values are smaller than " + value + (hidden ? PATH_HIDDEN : ""), false);
+        });
+    }
+
+    @FXML
+    private void handleSelect() {
+        readValue().ifPresent(rank -> {
+            try {
+                showQuery(model.select(rank), "Value of rank " + rank);
+            } catch (IllegalArgumentException e) {
+                setExplanation(e.getMessage(), true);
+            }
+        });
+    }
+
+    @FXML
+    private void handleRange() {
+        try {
+            int low = Integer.parseInt(rangeLowTextField.getText());
+            int high = Integer.parseInt(rangeHighTextField.getText());
+            BinaryTreeModel.Trace<List<BinaryTreeModel.Node>> trace = model.range(low, high);
+            StringBuilder text = new StringBuilder(trace.result().size() + " values in " + low + ".." + high + ":");
+            for (BinaryTreeModel.Node node : trace.result()) {
+                text.append(' ').append(node.value);
+            }
+            boolean hidden = animatePath(trace.path(), trace.result(), null);
+            setExplanation(text + (hidden ? PATH_HIDDEN : ""), false);
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Range bounds must be integers", true);
+        }
+    }
+
+    @FXML
+    private void handleRangeCount() {
+        try {
+            int low = Integer.parseInt(rangeLowTextField.getText());
+            int high = Integer.parseInt(rangeHighTextField.getText());
+            BinaryTreeModel.Trace<Integer> trace = model.rangeCount(low, high);
+            boolean hidden = animatePath(trace.path(), null, null);
+            setExplanation(trace.result() + " values in " + low + ".." + high + (hidden ? PATH_HIDDEN : ""), false);
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Range bounds must be integers", true);
+        }
+    }
+
+    private Optional<Integer> readValue() {
+        try {
+            return Optional.of(Integer.parseInt(valueTextField.getText()));
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Value must be an integer", true);
+            return Optional.empty();
+        }
+    }
+
+    private void showQuery(BinaryTreeModel.Trace<BinaryTreeModel.Node> trace, String description) {
+        BinaryTreeModel.Node result = trace.result();
+        boolean hidden = animatePath(trace.path(), result == null ? List.of() : List.of(result), null);
+        String message = result == null ? description + ": none" : description + ": " + result.value;
+        String note = !hidden ? "" : result != null && !nodeMap.containsKey(result) ? ANSWER_HIDDEN : PATH_HIDDEN;
+        setExplanation(message + note, result == null);
+    }
+
     @FXML
     private void handleInOrder() {
         animateTraversal(model.getInOrderTraversal(), "In-Order Traversal");
@@ -90,79 +271,150 @@ public class BinaryTreeController {
     private void handleReset() {
         model.reset();
         setExplanation("Binary Search Tree Reset", false);
-        visualizationPane.getChildren().clear();
-        nodeMap.clear();
     }
 
-    private void redrawTree(BinaryTreeModel.Node root, Runnable onFinished) {
-        visualizationPane.getChildren().clear();
+    private void clearView() {
+        if (moveAnimation != null) moveAnimation.stop();
+        edgeLayer.getChildren().clear();
+        nodeLayer.getChildren().clear();
+        markerLayer.getChildren().clear();
         nodeMap.clear();
-        if (root == null) {
-            if (onFinished != null) onFinished.run();
-            return;
-        }
-
-        // This is a complex problem. We'll use a simple algorithm for node positioning.
-        // We'll calculate x-positions based on in-order traversal
-        Map<BinaryTreeModel.Node, Double> xPos = new HashMap<>();
-        calculatePositions(root, 0, visualizationPane.getWidth(), 0, xPos);
-
-        drawNodeRecursive(root, 0, null, onFinished);
-    }
-
-    private void calculatePositions(BinaryTreeModel.Node node, double min, double max, int depth, Map<BinaryTreeModel.Node, Double> xPos) {
-        if(node == null) return;
-
-        // Simple positioning: divide space
-        double x = (min + max) / 2;
-        xPos.put(node, x);
-
-        calculatePositions(node.left, min, x, depth + 1, xPos);
-        calculatePositions(node.right, x, max, depth + 1, xPos);
+        edgeMap.clear();
     }
 
-    private void drawNodeRecursive(BinaryTreeModel.Node node, int depth, Group parentVisual, Runnable onFinished) {
-        if (node == null) {
-            if (onFinished != null) onFinished.run();
-            return;
+    /**
+     * Brings the scene in line with the model using a tidy-tree layout. Node visuals are kept between
+     * calls: those whose position changed glide there in a single timeline, new ones scale in and
+     * removed ones are dropped, so an insert only touches the nodes it actually moved.
+     * Edges are bound to the node positions and follow them without further work.
+     */
+    private void relayout(Runnable onFinished) {
+        int maxDepth = model.getSize() <= MAX_DRAWN_NODES ? Integer.MAX_VALUE : MAX_VISIBLE_LEVELS;
+        TidyTreeLayout.Result layout = TidyTreeLayout.compute(model.getRoot(), H_SEPARATION, maxDepth);
+        double available = visualizationPane.getWidth() > 0
+                ? Math.max(1, visualizationPane.getWidth() - 2 * (MARGIN + NODE_RADIUS)) : layout.width();
+        // Wide trees are squeezed to fit the pane rather than overlapping its edge, and deep ones likewise
+        double scale = layout.width() > available ? available / layout.width() : 1;
+        double left = MARGIN + NODE_RADIUS + (available - layout.width() * scale) / 2;
+        int gaps = layout.height() - 1 + (layout.truncated() ? 1 : 0); // Markers need a level of their own
+        double vGap = V_GAP;
+        if (gaps > 0 && visualizationPane.getHeight() > 0) {
+            double room = visualizationPane.getHeight() - TOP_PADDING - 2 * NODE_RADIUS - MARGIN;
+            vGap = Math.max(1, Math.min(V_GAP, room / gaps));
         }
 
-        double x = (visualizationPane.getWidth() / 2) + calculateNodeX(node, 0, (int)visualizationPane.getWidth());
-        double y = (depth * V_GAP) + 50; // 50px top padding
-
-        // Adjust x based on parent (this is a simplified algorithm)
-        if(parentVisual != null) {
-            if (node.value < Integer.parseInt(((Text)((StackPane)parentVisual.getChildren().get(0)).getChildren().get(0)).getText())) {
-                x = parentVisual.getLayoutX() - (visualizationPane.getWidth() / (Math.pow(2, depth + 1)));
+        BinaryTreeModel.Node[] nodes = layout.nodes();
+        Set<BinaryTreeModel.Node> present = new HashSet<>(nodes.length * 2);
+        List<KeyValue> moves = new ArrayList<>();
+        boolean added = false;
+        for (int i = 0; i < nodes.length; i++) {
+            BinaryTreeModel.Node node = nodes[i];
+            double x = left + layout.x()[i] * scale - NODE_RADIUS;
+            double y = TOP_PADDING + layout.depth()[i] * vGap;
+            present.add(node);
+
+            Group visual = nodeMap.get(node);
+            if (visual == null) {
+                visual = createVisualNode(node.value, x, y);
+                nodeMap.put(node, visual);
+                nodeLayer.getChildren().add(visual);
+                animateNodeAddition(visual);
+                added = true;
             } else {
-                x = parentVisual.getLayoutX() + (visualizationPane.getWidth() / (Math.pow(2, depth + 1)));
+                if (visual.getLayoutX() != x) moves.add(new KeyValue(visual.layoutXProperty(), x, Interpolator.EASE_BOTH));
+                if (visual.getLayoutY() != y) moves.add(new KeyValue(visual.layoutYProperty(), y, Interpolator.EASE_BOTH));
             }
-        } else {
-            x = visualizationPane.getWidth() / 2;
+            refreshVisual(visual, node);
         }
 
-        Group nodeVisual = createVisualNode(node.value, x, y);
-        nodeMap.put(node, nodeVisual);
+        nodeMap.entrySet().removeIf(entry -> {
+            if (present.contains(entry.getKey())) return false;
+            nodeLayer.getChildren().remove(entry.getValue());
+            return true;
+        });
+        updateEdges(nodes, present);
+        updateMarkers(nodes, layout.truncated());
 
-        if (parentVisual != null) {
-            Line line = new Line(parentVisual.getLayoutX(), parentVisual.getLayoutY() + NODE_RADIUS, x, y - NODE_RADIUS);
-            line.getStyleClass().add("pointer-line");
-            visualizationPane.getChildren().add(line);
+        if (moveAnimation != null) moveAnimation.stop();
+        if (!moves.isEmpty()) {
+            moveAnimation = new Timeline(new KeyFrame(MOVE_DURATION, moves.toArray(new KeyValue[0])));
+            moveAnimation.play();
         }
+        if (onFinished == null) return;
+        if (moves.isEmpty() && !added) {
+            onFinished.run();
+        } else {
+            PauseTransition pause = new PauseTransition(moves.isEmpty() ? ADDITION_DURATION : MOVE_DURATION);
+            pause.setOnFinished(e -> onFinished.run());
+            pause.play();
+        }
+    }
 
-        visualizationPane.getChildren().add(nodeVisual);
+    // One line per child, rebound only when a rotation or delete gave the child a new parent
+    private void updateEdges(BinaryTreeModel.Node[] nodes, Set<BinaryTreeModel.Node> present) {
+        Set<BinaryTreeModel.Node> children = new HashSet<>(nodes.length * 2);
+        for (BinaryTreeModel.Node parent : nodes) {
+            for (BinaryTreeModel.Node child : new BinaryTreeModel.Node[] {parent.left, parent.right}) {
+                if (child == null || !present.contains(child)) continue; // Below the visible levels
+                children.add(child);
+                Line line = edgeMap.get(child);
+                if (line == null) {
+                    line = new Line();
+                    line.getStyleClass().add("pointer-line");
+                    bindEnd(line, nodeMap.get(child));
+                    edgeMap.put(child, line);
+                    edgeLayer.getChildren().add(line);
+                } else if (line.getUserData() == parent) {
+                    continue;
+                }
+                Group from = nodeMap.get(parent);
+                line.setUserData(parent);
+                line.startXProperty().bind(from.layoutXProperty().add(NODE_RADIUS));
+                line.startYProperty().bind(from.layoutYProperty().add(NODE_RADIUS));
+            }
+        }
+        edgeMap.entrySet().removeIf(entry -> {
+            if (children.contains(entry.getKey()) && present.contains(entry.getKey())) return false;
+            edgeLayer.getChildren().remove(entry.getValue());
+            return true;
+        });
+    }
 
-        animateNodeAddition(nodeVisual, onFinished);
+    // Rebuilt on every relayout; there are at most as many markers as nodes on the last drawn level
+    private void updateMarkers(BinaryTreeModel.Node[] nodes, boolean truncated) {
+        markerLayer.getChildren().clear();
+        if (!truncated) return;
+        for (BinaryTreeModel.Node node : nodes) {
+            int hidden = node.subtreeSize() - 1;
+            if (hidden == 0 || nodeMap.containsKey(node.left) || nodeMap.containsKey(node.right)) continue;
+            Group visual = nodeMap.get(node);
+            Label marker = new Label(String.format("+%,d deeper", hidden));
+            marker.getStyleClass().add("truncation-marker");
+            marker.layoutXProperty().bind(visual.layoutXProperty().add(NODE_RADIUS).subtract(marker.widthProperty().divide(2)));
+            marker.layoutYProperty().bind(visual.layoutYProperty().add(2 * NODE_RADIUS + 2));
+            markerLayer.getChildren().add(marker);
+        }
+    }
 
-        drawNodeRecursive(node.left, depth + 1, nodeVisual, onFinished);
-        drawNodeRecursive(node.right, depth + 1, nodeVisual, onFinished);
+    private static void bindEnd(Line line, Group to) {
+        line.endXProperty().bind(to.layoutXProperty().add(NODE_RADIUS));
+        line.endYProperty().bind(to.layoutYProperty().add(NODE_RADIUS));
     }
 
-    // This is a dummy function, proper X calculation is complex (e.g., Knuth's algorithm)
-    // We'll use a simplified version
-    private double calculateNodeX(BinaryTreeModel.Node node, int depth, int width) {
-        // This won't work well. Let's try the recursive draw with parent position
-        return 0;
+    // A delete can hand a node its successor's value, and rebalancing can recolour it
+    private static void refreshVisual(Group visual, BinaryTreeModel.Node node) {
+        StackPane sp = (StackPane) visual.getChildren().get(0);
+        Text text = (Text) sp.getChildren().get(1);
+        String label = String.valueOf(node.value);
+        if (!label.equals(text.getText())) text.setText(label);
+
+        Circle circle = circleOf(visual);
+        boolean shownRed = circle.getStyleClass().contains("data-node-red");
+        if (node.isRed() != shownRed) {
+            if (node.isRed()) circle.getStyleClass().add("data-node-red");
+            else circle.getStyleClass().remove("data-node-red");
+            circle.setFill(restingColor(node));
+        }
     }
 
     private Group createVisualNode(int value, double x, double y) {
@@ -181,36 +433,78 @@ public class BinaryTreeController {
         return group;
     }
 
-    private void animateNodeAddition(Group nodeVisual, Runnable onFinished) {
+    private void animateNodeAddition(Group nodeVisual) {
         nodeVisual.setScaleX(0);
         nodeVisual.setScaleY(0);
-        ScaleTransition st = new ScaleTransition(Duration.millis(300), nodeVisual);
+        ScaleTransition st = new ScaleTransition(ADDITION_DURATION, nodeVisual);
         st.setToX(1);
         st.setToY(1);
-        if (onFinished != null) {
-            st.setOnFinished(e -> onFinished.run());
+        st.play();
+    }
+
+    private String describeRotations(List<BinaryTreeModel.Rotation> rotations) {
+        if (rotations.isEmpty()) return "";
+        StringBuilder text = new StringBuilder(" (");
+        for (BinaryTreeModel.Rotation rotation : rotations) {
+            if (text.length() > 2) text.append(", ");
+            text.append("rotate ").append(rotation.direction().name().toLowerCase()).append(" at ").append(rotation.pivot());
+        }
+        return text.append(")").toString();
+    }
+
+    // The tree is already redrawn in its final shape; flash each pivot and the child that rose above it
+    private void animateRotations(List<BinaryTreeModel.Rotation> rotations) {
+        Map<Integer, Group> byValue = new HashMap<>();
+        Map<Integer, BinaryTreeModel.Node> nodes = new HashMap<>();
+        nodeMap.forEach((node, visual) -> {
+            byValue.put(node.value, visual);
+            nodes.put(node.value, node);
+        });
+
+        setControlsDisabled(true);
+        SequentialTransition st = new SequentialTransition();
+        for (BinaryTreeModel.Rotation rotation : rotations) {
+            Group pivot = byValue.get(rotation.pivot());
+            Group risen = byValue.get(rotation.risen());
+            if (pivot == null || risen == null) continue;
+            st.getChildren().add(new ParallelTransition(
+                    createHighlightAnimation(risen, ROTATION_COLOR, restingColor(nodes.get(rotation.risen()))),
+                    createHighlightAnimation(pivot, ROTATION_COLOR, restingColor(nodes.get(rotation.pivot())))));
         }
+        st.setOnFinished(e -> setControlsDisabled(false));
         st.play();
     }
 
+    private static Color restingColor(BinaryTreeModel.Node node) {
+        return node != null && node.isRed() ? RED_NODE_COLOR : NODE_COLOR;
+    }
+
+    private static Circle circleOf(Group visualNode) {
+        StackPane sp = (StackPane) visualNode.getChildren().get(0);
+        return (Circle) sp.getChildren().get(0);
+    }
+
     private void setControlsDisabled(boolean disabled) {
         controlsBox.setDisable(disabled);
+        queriesBox.setDisable(disabled);
         insertButton.setDisable(disabled);
         searchButton.setDisable(disabled);
         resetButton.setDisable(disabled);
     }
 
-    private void animateSearch(int value) {
+    // Returns true if the search goes on below the drawn levels
+    private boolean animateSearch(int value) {
         setControlsDisabled(true);
         SequentialTransition st = new SequentialTransition();
         BinaryTreeModel.Node current = model.getRoot();
 
-        while (current != null) {
+        // Stops where the drawing does if the path goes below the visible levels
+        while (current != null && nodeMap.containsKey(current)) {
             Group visualNode = nodeMap.get(current);
-            st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00aaff"))); // Search path
+            st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00aaff"), restingColor(current))); // Search path
 
             if (value == current.value) {
-                st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00b300"))); // Found
+                st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00b300"), restingColor(current))); // Found
                 current = null; // Stop
             } else if (value < current.value) {
                 current = current.left;
@@ -221,6 +515,38 @@ public class BinaryTreeController {
 
         st.setOnFinished(e -> setControlsDisabled(false));
         st.play();
+        return current != null;
+    }
+
+    // Flashes each visited node in turn, then the answers; returns true if some of them are not drawn
+    private boolean animatePath(List<BinaryTreeModel.Node> path, List<BinaryTreeModel.Node> found, Runnable onFinished) {
+        setControlsDisabled(true);
+        SequentialTransition st = new SequentialTransition();
+        boolean hidden = false;
+        for (BinaryTreeModel.Node node : path) {
+            Group visualNode = nodeMap.get(node);
+            if (visualNode != null) {
+                st.getChildren().add(createHighlightAnimation(visualNode, PATH_COLOR, restingColor(node)));
+            } else {
+                hidden = true;
+            }
+        }
+        if (found != null) {
+            for (BinaryTreeModel.Node node : found) {
+                Group visualNode = nodeMap.get(node);
+                if (visualNode != null) {
+                    st.getChildren().add(createHighlightAnimation(visualNode, FOUND_COLOR, restingColor(node)));
+                } else {
+                    hidden = true;
+                }
+            }
+        }
+        st.setOnFinished(e -> {
+            setControlsDisabled(false);
+            if (onFinished != null) onFinished.run();
+        });
+        st.play();
+        return hidden;
     }
 
     private void animateTraversal(List<BinaryTreeModel.Node> nodes, String description) {
@@ -228,10 +554,17 @@ public class BinaryTreeController {
         SequentialTransition st = new SequentialTransition();
         StringBuilder traversalResult = new StringBuilder(description + ": ");
 
-        for (BinaryTreeModel.Node node : nodes) {
-            traversalResult.append(node.value).append(" ");
+        for (int i = 0; i < nodes.size(); i++) {
+            BinaryTreeModel.Node node = nodes.get(i);
+            if (i < MAX_LISTED_VALUES) {
+                traversalResult.append(node.value).append(" ");
+            } else if (i == MAX_LISTED_VALUES) {
+                traversalResult.append(String.format("... (%,d more)", nodes.size() - i));
+            }
             Group visualNode = nodeMap.get(node);
-            st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00aaff")));
+            if (visualNode != null) {
+                st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00aaff"), restingColor(node)));
+            }
         }
 
         st.setOnFinished(e -> {
@@ -241,15 +574,14 @@ public class BinaryTreeController {
         st.play();
     }
 
-    private Animation createHighlightAnimation(Group visualNode, Color color) {
-        StackPane sp = (StackPane) visualNode.getChildren().get(0);
-        Circle circle = (Circle) sp.getChildren().get(0);
+    private Animation createHighlightAnimation(Group visualNode, Color color, Color restingColor) {
+        Circle circle = circleOf(visualNode);
 
         FillTransition ft = new FillTransition(Duration.millis(300), circle);
         ft.setToValue(color);
 
         FillTransition ftReverse = new FillTransition(Duration.millis(300), circle);
-        ftReverse.setToValue(Color.web("#007acc")); // Back to original color
+        ftReverse.setToValue(restingColor); // Back to original color
 
         return new SequentialTransition(new PauseTransition(Duration.millis(100)), ft, new PauseTransition(Duration.millis(300)), ftReverse);
     }
@@ -0,0 +1,386 @@
+package com.visualizer.controller;
+
+import com.visualizer.model.GraphModel;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Point2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Draws a graph onto a single Canvas instead of one scene node per vertex and edge.
+ * Only the part of the canvas that changed is repainted, at most once per pulse,
+ * and nodes are kept in a uniform grid so hit-testing and drag selection only look
+ * at the cells under the pointer.
+ */
+class GraphCanvasRenderer {
+
+    static final double NODE_RADIUS = 20;
+    private static final double CELL_SIZE = 4 * NODE_RADIUS;
+
+    // Same palette as styles.css (.data-node-circle, .pointer-line)
+    private static final Color NODE_FILL = Color.web("#007acc");
+    private static final Color NODE_STROKE = Color.web("#00aaff");
+    private static final Color SELECTED_STROKE = Color.web("#f1fa8c");
+    private static final Color EDGE_STROKE = Color.web("#bd93f9");
+    private static final Color TEXT_FILL = Color.WHITE;
+    private static final Color SELECTION_STROKE = Color.web("#8be9fd");
+    private static final Font LABEL_FONT = Font.font("System", FontWeight.BOLD, 14);
+
+    private static final class NodeSprite {
+        final GraphModel.Node node;
+        double x, y; // Centre
+        Color highlight; // Null means the normal fill
+        boolean selected;
+        long cell;
+        final List<EdgeSprite> edges = new ArrayList<>();
+
+        NodeSprite(GraphModel.Node node, double x, double y) {
+            this.node = node;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static final class EdgeSprite {
+        final NodeSprite from;
+        final NodeSprite to;
+
+        EdgeSprite(NodeSprite from, NodeSprite to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private final Pane pane;
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private final Map<GraphModel.Node, NodeSprite> sprites = new HashMap<>();
+    private final List<EdgeSprite> edges = new ArrayList<>();
+    private final Map<Long, List<NodeSprite>> grid = new HashMap<>();
+    private final Set<NodeSprite> selection = new HashSet<>();
+    private final AnimationTimer pulse;
+    private BiConsumer<GraphModel.Node, Point2D> onNodeDragged;
+
+    // Dirty region, repainted on the next pulse
+    private double dirtyMinX = Double.POSITIVE_INFINITY, dirtyMinY = Double.POSITIVE_INFINITY;
+    private double dirtyMaxX = Double.NEGATIVE_INFINITY, dirtyMaxY = Double.NEGATIVE_INFINITY;
+
+    // Mouse state
+    private double lastX, lastY;
+    private boolean draggingNodes;
+    private boolean selectingArea;
+    private double areaStartX, areaStartY;
+
+    GraphCanvasRenderer(Pane pane) {
+        this.pane = pane;
+        canvas.widthProperty().bind(pane.widthProperty());
+        canvas.heightProperty().bind(pane.heightProperty());
+        canvas.widthProperty().addListener((obs, oldV, newV) -> markAllDirty());
+        canvas.heightProperty().addListener((obs, oldV, newV) -> markAllDirty());
+        pane.getChildren().add(canvas);
+
+        canvas.setOnMousePressed(this::onMousePressed);
+        canvas.setOnMouseDragged(this::onMouseDragged);
+        canvas.setOnMouseReleased(this::onMouseReleased);
+
+        pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                repaintDirtyRegion();
+            }
+        };
+        pulse.start();
+    }
+
+    /**
+     * Stops repainting and removes the canvas from the pane.
+     */
+    void dispose() {
+        pulse.stop();
+        canvas.widthProperty().unbind();
+        canvas.heightProperty().unbind();
+        pane.getChildren().remove(canvas);
+    }
+
+    void addNode(GraphModel.Node node, double x, double y) {
+        NodeSprite sprite = new NodeSprite(node, x, y);
+        sprites.put(node, sprite);
+        sprite.cell = cellKey(x, y);
+        grid.computeIfAbsent(sprite.cell, k -> new ArrayList<>()).add(sprite);
+        markDirty(sprite);
+    }
+
+    void addEdge(GraphModel.Node from, GraphModel.Node to) {
+        NodeSprite a = sprites.get(from);
+        NodeSprite b = sprites.get(to);
+        if (a == null || b == null) return;
+        EdgeSprite edge = new EdgeSprite(a, b);
+        edges.add(edge);
+        a.edges.add(edge);
+        if (b != a) b.edges.add(edge);
+        markDirty(edge);
+    }
+
+    void clear() {
+        sprites.clear();
+        edges.clear();
+        grid.clear();
+        selection.clear();
+        markAllDirty();
+    }
+
+    Point2D getPosition(GraphModel.Node node) {
+        NodeSprite sprite = sprites.get(node);
+        return sprite == null ? null : new Point2D(sprite.x, sprite.y);
+    }
+
+    /**
+     * Tints a node, or restores its normal colour when color is null.
+     */
+    void setHighlight(GraphModel.Node node, Color color) {
+        NodeSprite sprite = sprites.get(node);
+        if (sprite == null) return;
+        sprite.highlight = color;
+        markDirty(sprite);
+    }
+
+    void moveNode(GraphModel.Node node, double x, double y) {
+        NodeSprite sprite = sprites.get(node);
+        if (sprite != null) moveSprite(sprite, x, y);
+    }
+
+    /**
+     * Called with the new centre of every node the user drags.
+     */
+    void setOnNodeDragged(BiConsumer<GraphModel.Node, Point2D> listener) {
+        this.onNodeDragged = listener;
+    }
+
+    // --- Mouse handling ---
+
+    private void onMousePressed(MouseEvent e) {
+        lastX = e.getX();
+        lastY = e.getY();
+        NodeSprite hit = hitTest(e.getX(), e.getY());
+        if (hit != null) {
+            if (!hit.selected) {
+                clearSelection();
+                select(hit);
+            }
+            draggingNodes = true;
+        } else {
+            clearSelection();
+            selectingArea = true;
+            areaStartX = e.getX();
+            areaStartY = e.getY();
+        }
+    }
+
+    private void onMouseDragged(MouseEvent e) {
+        double dx = e.getX() - lastX;
+        double dy = e.getY() - lastY;
+        if (draggingNodes) {
+            for (NodeSprite sprite : selection) {
+                moveSprite(sprite, sprite.x + dx, sprite.y + dy);
+                if (onNodeDragged != null) onNodeDragged.accept(sprite.node, new Point2D(sprite.x, sprite.y));
+            }
+        } else if (selectingArea) {
+            markDirty(Math.min(areaStartX, lastX), Math.min(areaStartY, lastY),
+                    Math.max(areaStartX, lastX), Math.max(areaStartY, lastY));
+            markDirty(Math.min(areaStartX, e.getX()), Math.min(areaStartY, e.getY()),
+                    Math.max(areaStartX, e.getX()), Math.max(areaStartY, e.getY()));
+        }
+        lastX = e.getX();
+        lastY = e.getY();
+    }
+
+    private void onMouseReleased(MouseEvent e) {
+        if (selectingArea) {
+            double minX = Math.min(areaStartX, e.getX());
+            double minY = Math.min(areaStartY, e.getY());
+            double maxX = Math.max(areaStartX, e.getX());
+            double maxY = Math.max(areaStartY, e.getY());
+            for (NodeSprite sprite : spritesIn(minX, minY, maxX, maxY)) {
+                if (sprite.x >= minX && sprite.x <= maxX && sprite.y >= minY && sprite.y <= maxY) {
+                    select(sprite);
+                }
+            }
+            markDirty(minX, minY, maxX, maxY); // Erase the rubber band
+        }
+        draggingNodes = false;
+        selectingArea = false;
+    }
+
+    private void select(NodeSprite sprite) {
+        sprite.selected = true;
+        selection.add(sprite);
+        markDirty(sprite);
+    }
+
+    private void clearSelection() {
+        for (NodeSprite sprite : selection) {
+            sprite.selected = false;
+            markDirty(sprite);
+        }
+        selection.clear();
+    }
+
+    // --- Spatial index ---
+
+    private static long cellKey(double x, double y) {
+        int cx = (int) Math.floor(x / CELL_SIZE);
+        int cy = (int) Math.floor(y / CELL_SIZE);
+        return ((long) cx << 32) ^ (cy & 0xffffffffL);
+    }
+
+    private NodeSprite hitTest(double x, double y) {
+        NodeSprite best = null;
+        double bestDist = NODE_RADIUS * NODE_RADIUS;
+        for (NodeSprite sprite : spritesIn(x - NODE_RADIUS, y - NODE_RADIUS, x + NODE_RADIUS, y + NODE_RADIUS)) {
+            double dx = sprite.x - x;
+            double dy = sprite.y - y;
+            double dist = dx * dx + dy * dy;
+            if (dist <= bestDist) {
+                best = sprite;
+                bestDist = dist;
+            }
+        }
+        return best;
+    }
+
+    // Candidates whose cell overlaps the rectangle; callers do the exact test
+    private List<NodeSprite> spritesIn(double minX, double minY, double maxX, double maxY) {
+        List<NodeSprite> found = new ArrayList<>();
+        int cx0 = (int) Math.floor(minX / CELL_SIZE);
+        int cy0 = (int) Math.floor(minY / CELL_SIZE);
+        int cx1 = (int) Math.floor(maxX / CELL_SIZE);
+        int cy1 = (int) Math.floor(maxY / CELL_SIZE);
+        if ((long) (cx1 - cx0 + 1) * (cy1 - cy0 + 1) > grid.size()) {
+            // Huge area: walking the occupied cells is cheaper than walking empty ones
+            for (List<NodeSprite> cell : grid.values()) {
+                found.addAll(cell);
+            }
+            return found;
+        }
+        for (int cx = cx0; cx <= cx1; cx++) {
+            for (int cy = cy0; cy <= cy1; cy++) {
+                List<NodeSprite> cell = grid.get(((long) cx << 32) ^ (cy & 0xffffffffL));
+                if (cell != null) found.addAll(cell);
+            }
+        }
+        return found;
+    }
+
+    private void moveSprite(NodeSprite sprite, double x, double y) {
+        markDirty(sprite); // Old position
+        sprite.x = x;
+        sprite.y = y;
+        long cell = cellKey(x, y);
+        if (cell != sprite.cell) {
+            List<NodeSprite> oldCell = grid.get(sprite.cell);
+            if (oldCell != null) {
+                oldCell.remove(sprite);
+                if (oldCell.isEmpty()) grid.remove(sprite.cell);
+            }
+            grid.computeIfAbsent(cell, k -> new ArrayList<>()).add(sprite);
+            sprite.cell = cell;
+        }
+        markDirty(sprite); // New position, including its edges
+    }
+
+    // --- Dirty-region painting ---
+
+    private void markDirty(double minX, double minY, double maxX, double maxY) {
+        dirtyMinX = Math.min(dirtyMinX, minX - 2);
+        dirtyMinY = Math.min(dirtyMinY, minY - 2);
+        dirtyMaxX = Math.max(dirtyMaxX, maxX + 2);
+        dirtyMaxY = Math.max(dirtyMaxY, maxY + 2);
+    }
+
+    private void markDirty(NodeSprite sprite) {
+        markDirty(sprite.x - NODE_RADIUS, sprite.y - NODE_RADIUS, sprite.x + NODE_RADIUS, sprite.y + NODE_RADIUS);
+        for (EdgeSprite edge : sprite.edges) {
+            markDirty(edge);
+        }
+    }
+
+    private void markDirty(EdgeSprite edge) {
+        markDirty(Math.min(edge.from.x, edge.to.x), Math.min(edge.from.y, edge.to.y),
+                Math.max(edge.from.x, edge.to.x), Math.max(edge.from.y, edge.to.y));
+    }
+
+    private void markAllDirty() {
+        markDirty(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    private void repaintDirtyRegion() {
+        if (dirtyMinX > dirtyMaxX || dirtyMinY > dirtyMaxY) return;
+        double minX = Math.max(0, dirtyMinX);
+        double minY = Math.max(0, dirtyMinY);
+        double maxX = Math.min(canvas.getWidth(), dirtyMaxX);
+        double maxY = Math.min(canvas.getHeight(), dirtyMaxY);
+        dirtyMinX = dirtyMinY = Double.POSITIVE_INFINITY;
+        dirtyMaxX = dirtyMaxY = Double.NEGATIVE_INFINITY;
+        if (minX >= maxX || minY >= maxY) return;
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(minX, minY, maxX - minX, maxY - minY);
+        gc.clip();
+        gc.clearRect(minX, minY, maxX - minX, maxY - minY);
+
+        // Edges first so nodes are drawn on top
+        gc.setStroke(EDGE_STROKE);
+        gc.setLineWidth(2);
+        for (EdgeSprite edge : edges) {
+            if (Math.max(edge.from.x, edge.to.x) < minX || Math.min(edge.from.x, edge.to.x) > maxX
+                    || Math.max(edge.from.y, edge.to.y) < minY || Math.min(edge.from.y, edge.to.y) > maxY) {
+                continue;
+            }
+            gc.strokeLine(edge.from.x, edge.from.y, edge.to.x, edge.to.y);
+        }
+
+        gc.setFont(LABEL_FONT);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (NodeSprite sprite : spritesIn(minX - NODE_RADIUS, minY - NODE_RADIUS, maxX + NODE_RADIUS, maxY + NODE_RADIUS)) {
+            drawNode(sprite);
+        }
+
+        if (selectingArea) {
+            gc.setStroke(SELECTION_STROKE);
+            gc.setLineWidth(1);
+            gc.setLineDashes(4, 4);
+            gc.strokeRect(Math.min(areaStartX, lastX), Math.min(areaStartY, lastY),
+                    Math.abs(lastX - areaStartX), Math.abs(lastY - areaStartY));
+            gc.setLineDashes();
+        }
+        gc.restore();
+    }
+
+    private void drawNode(NodeSprite sprite) {
+        double d = 2 * NODE_RADIUS;
+        gc.setFill(sprite.highlight != null ? sprite.highlight : NODE_FILL);
+        gc.fillOval(sprite.x - NODE_RADIUS, sprite.y - NODE_RADIUS, d, d);
+        gc.setStroke(sprite.selected ? SELECTED_STROKE : NODE_STROKE);
+        gc.setLineWidth(2);
+        gc.strokeOval(sprite.x - NODE_RADIUS, sprite.y - NODE_RADIUS, d, d);
+        gc.setFill(TEXT_FILL);
+        gc.fillText(sprite.node.id, sprite.x, sprite.y, d - 4);
+    }
+}
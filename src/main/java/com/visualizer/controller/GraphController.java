@@ -1,12 +1,20 @@
 package com.visualizer.controller;
 
 import com.visualizer.database.DatabaseInterface;
+import com.visualizer.layout.FruchtermanReingoldLayout;
+import com.visualizer.layout.LayoutEngine;
 import com.visualizer.model.GraphModel;
+import com.visualizer.model.ModelListener;
+import com.visualizer.model.PathHeuristic;
+import com.visualizer.model.PathResult;
 import javafx.animation.*;
+import javafx.beans.InvalidationListener;
 import javafx.fxml.FXML;
+import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.Group;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
@@ -19,20 +27,31 @@ import javafx.scene.shape.Line;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 public class GraphController {
 
     @FXML private TextField nodeTextField;
     @FXML private TextField edgeFromTextField;
     @FXML private TextField edgeToTextField;
+    @FXML private TextField edgeWeightTextField;
     @FXML private TextField startNodeTextField;
+    @FXML private TextField targetNodeTextField;
     @FXML private Pane visualizationPane;
     @FXML private Label explanationLabel;
     @FXML private VBox controlsBox;
+    @FXML private CheckBox canvasModeCheckBox;
+    @FXML private CheckBox autoLayoutCheckBox;
+    @FXML private CheckBox parallelBfsCheckBox;
+    @FXML private CheckBox componentsCheckBox;
 
     private GraphModel model;
     private DatabaseInterface db;
@@ -41,14 +60,81 @@ public class GraphController {
     private final Map<GraphModel.Edge, Line> edgeMap = new HashMap<>();
     private static final double NODE_RADIUS = 20;
 
+    // Shortest-path animation
+    private static final int MAX_ANIMATED_STEPS = 300;
+    private static final Duration STEP_DURATION = Duration.millis(250);
+    private static final Color NODE_COLOR = Color.web("#007acc");
+    private static final Color RELAX_COLOR = Color.web("#ffb86c");
+    private static final Color SETTLE_COLOR = Color.web("#6272a4");
+    private static final Color PATH_COLOR = Color.web("#50fa7b");
+
+    // Strongly connected components with more than one node get a colour each; the rest keep NODE_COLOR
+    private static final Color[] COMPONENT_COLORS = {
+            Color.web("#ff79c6"), Color.web("#8be9fd"), Color.web("#bd93f9"), Color.web("#f1fa8c"),
+            Color.web("#ff5555"), Color.web("#50fa7b"), Color.web("#ffb86c"), Color.web("#6272a4")};
+
+    // Canvas mode draws everything on one Canvas, for graphs too large for one scene node per vertex
+    private GraphCanvasRenderer canvasRenderer;
+
     // For dragging
     private double orgSceneX, orgSceneY;
     private double orgTranslateX, orgTranslateY;
 
+    // Mouse events can arrive several times per frame; only the latest position per node is applied, once per pulse
+    private final Map<GraphModel.Node, Point2D> pendingDrags = new LinkedHashMap<>();
+    private final AnimationTimer dragPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            applyPendingDrags();
+            stop();
+        }
+    };
+
+    // Auto layout: positions come from a background LayoutEngine; dragged nodes are pinned where they are dropped
+    private LayoutEngine layoutEngine;
+    private final List<GraphModel.Node> layoutNodes = new ArrayList<>(); // Index = layout node number
+    private final Map<GraphModel.Node, Integer> layoutIndex = new HashMap<>();
+    private final Set<GraphModel.Node> pinnedNodes = new HashSet<>();
+    private LayoutEngine.Snapshot appliedLayout;
+    private long layoutGeneration; // Matches LayoutEngine.Snapshot.generation() once a reset has been applied
+    private final InvalidationListener paneResized = obs -> {
+        if (layoutEngine != null) {
+            layoutEngine.setBounds(visualizationPane.getWidth(), visualizationPane.getHeight());
+        }
+    };
+    private final AnimationTimer layoutPulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            applyLayout();
+        }
+    };
+
+    // New nodes and edges are drawn as the model reports them; nothing else on screen is touched
+    private final ModelListener viewUpdater = new ModelListener() {
+        @Override
+        public void nodeAdded(GraphModel.Node node) {
+            drawNewNode(node);
+        }
+
+        @Override
+        public void edgeAdded(GraphModel.Node source, GraphModel.Node destination, double weight) {
+            drawNewEdge(source, destination);
+            if (layoutEngine != null) {
+                layoutEngine.addEdge(layoutIndex.get(source), layoutIndex.get(destination));
+            }
+        }
+
+        @Override
+        public void cleared() {
+            clearView();
+        }
+    };
+
     public void initializeModel(int capacity, DatabaseInterface db) {
         // Capacity is less relevant for graph, but we follow the pattern
         this.model = new GraphModel(db);
         this.db = db;
+        model.addListener(viewUpdater);
     }
 
     @FXML
@@ -61,7 +147,6 @@ public class GraphController {
         try {
             model.addNode(id);
             setExplanation("Added Node " + id, false);
-            drawNewNode(model.getNodeById(id));
             nodeTextField.clear();
         } catch (IllegalArgumentException e) {
             setExplanation(e.getMessage(), true);
@@ -77,11 +162,26 @@ public class GraphController {
             return;
         }
         try {
-            model.addEdge(from, to);
-            setExplanation("Added Edge " + from + " -> " + to, false);
-            drawNewEdge(model.getNodeById(from), model.getNodeById(to));
+            String weightText = edgeWeightTextField.getText().trim();
+            double weight = weightText.isEmpty() ? GraphModel.DEFAULT_WEIGHT : Double.parseDouble(weightText);
+            boolean tracking = model.isComponentTracking() && model.getNodeById(from) != null && model.getNodeById(to) != null;
+            boolean separate = tracking
+                    && model.getComponentId(model.getNodeById(from)) != model.getComponentId(model.getNodeById(to));
+            model.addEdge(from, to, weight);
+            setExplanation("Added Edge " + from + " -> " + to
+                    + (weight == GraphModel.DEFAULT_WEIGHT ? "" : " (weight " + weight + ")"), false);
+            if (separate && model.getComponentId(model.getNodeById(from)) == model.getComponentId(model.getNodeById(to))) {
+                // The edge closed a cycle; only the merged component needs new colours
+                List<GraphModel.Node> members = model.getComponentMembers(model.getNodeById(from));
+                members.forEach(node -> setNodeColor(node, null));
+                setExplanation("Edge " + from + " -> " + to + " closes a cycle: " + members.size()
+                        + " nodes now form one strongly connected component", false);
+            }
             edgeFromTextField.clear();
             edgeToTextField.clear();
+            edgeWeightTextField.clear();
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Weight must be a number", true);
         } catch (IllegalArgumentException e) {
             setExplanation(e.getMessage(), true);
         }
@@ -90,9 +190,13 @@ public class GraphController {
     @FXML
     private void handleBFS() {
         String startId = startNodeTextField.getText();
+        GraphModel.TraversalEngine engine = parallelBfsCheckBox.isSelected()
+                ? GraphModel.TraversalEngine.PARALLEL : GraphModel.TraversalEngine.SEQUENTIAL;
         try {
-            List<GraphModel.Node> traversal = model.bfs(startId);
-            animateTraversal(traversal, "BFS");
+            long start = System.nanoTime();
+            List<GraphModel.Node> traversal = model.bfs(startId, engine);
+            double millis = (System.nanoTime() - start) / 1e6;
+            animateTraversal(traversal, String.format("BFS (%s, %.2f ms)", engine.name().toLowerCase(), millis));
         } catch (IllegalArgumentException e) {
             setExplanation(e.getMessage(), true);
         }
@@ -109,19 +213,311 @@ public class GraphController {
         }
     }
 
+    @FXML
+    private void handleComponentsToggle() {
+        model.setComponentTracking(componentsCheckBox.isSelected());
+        model.getNodes().forEach(node -> setNodeColor(node, null));
+        if (model.isComponentTracking()) {
+            long cyclic = model.stronglyConnectedComponents().stream().filter(c -> c.size() > 1).count();
+            setExplanation(cyclic == 0 ? "No cycles: every node is its own component"
+                    : cyclic + " strongly connected component(s) with cycles are coloured", false);
+        } else {
+            setExplanation("Component colouring off", false);
+        }
+    }
+
+    @FXML
+    private void handleTopologicalSort() {
+        try {
+            animateTraversal(model.topologicalOrder(), "Topological order");
+        } catch (IllegalStateException e) {
+            setExplanation(e.getMessage(), true);
+        }
+    }
+
+    @FXML
+    private void handleDijkstra() {
+        runShortestPath("Dijkstra", (source, target) -> model.dijkstra(source, target, true));
+    }
+
+    @FXML
+    private void handleAStar() {
+        PathHeuristic heuristic = layoutHeuristic();
+        runShortestPath("A*", (source, target) -> model.aStar(source, target, heuristic, true));
+    }
+
+    @FXML
+    private void handleBellmanFord() {
+        runShortestPath("Bellman-Ford", (source, target) -> model.bellmanFord(source, target, true));
+    }
+
+    private void runShortestPath(String name, BiFunction<String, String, PathResult> search) {
+        String source = startNodeTextField.getText();
+        String target = targetNodeTextField.getText();
+        if (target.isEmpty()) {
+            setExplanation("Error: Target node cannot be empty", true);
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            PathResult result = search.apply(source, target);
+            double millis = (System.nanoTime() - start) / 1e6;
+            animatePath(result, String.format("%s %s -> %s (%.2f ms)", name, source, target, millis));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            setExplanation(e.getMessage(), true);
+        }
+    }
+
+    /**
+     * Euclidean distance between node centres, scaled down so that no edge is shorter in weight
+     * than its scaled on-screen length. That keeps the estimate admissible for any layout.
+     */
+    private PathHeuristic layoutHeuristic() {
+        Map<GraphModel.Node, Point2D> centres = new HashMap<>();
+        for (GraphModel.Node node : model.getNodes()) {
+            centres.put(node, centreOf(node));
+        }
+        double scale = Double.POSITIVE_INFINITY;
+        for (GraphModel.Edge edge : model.getEdges()) {
+            double length = centres.get(edge.source).distance(centres.get(edge.destination));
+            if (length > 0) scale = Math.min(scale, edge.weight / length);
+        }
+        if (!(scale > 0) || Double.isInfinite(scale)) return PathHeuristic.NONE;
+        double factor = scale;
+        return (node, target) -> centres.get(node).distance(centres.get(target)) * factor;
+    }
+
+    // Replays the search (relaxed nodes orange, settled purple), then lights up the path
+    private void animatePath(PathResult result, String description) {
+        controlsBox.setDisable(true);
+        Timeline timeline = new Timeline();
+        Set<GraphModel.Node> touched = new HashSet<>();
+        List<PathResult.Step> steps = result.trace();
+        int shown = Math.min(steps.size(), MAX_ANIMATED_STEPS);
+
+        Duration time = Duration.ZERO;
+        for (int i = 0; i < shown; i++) {
+            PathResult.Step step = steps.get(i);
+            Color color = step.kind() == PathResult.StepKind.RELAX ? RELAX_COLOR : SETTLE_COLOR;
+            touched.add(step.node());
+            time = time.add(STEP_DURATION);
+            timeline.getKeyFrames().add(new KeyFrame(time, e -> setNodeColor(step.node(), color)));
+        }
+        for (GraphModel.Node node : result.path()) {
+            touched.add(node);
+            time = time.add(STEP_DURATION);
+            timeline.getKeyFrames().add(new KeyFrame(time, e -> setNodeColor(node, PATH_COLOR)));
+        }
+        time = time.add(Duration.seconds(2));
+        timeline.getKeyFrames().add(new KeyFrame(time, e -> touched.forEach(node -> setNodeColor(node, null))));
+
+        StringBuilder summary = new StringBuilder(description).append(": ");
+        if (result.negativeCycle()) {
+            summary.append("negative cycle reachable from the start");
+        } else if (result.path().isEmpty()) {
+            summary.append("target not reachable");
+        } else {
+            summary.append("distance ").append(result.distance()).append(" via");
+            for (GraphModel.Node node : result.path()) summary.append(' ').append(node.id);
+        }
+        if (shown < steps.size()) summary.append(" (animated ").append(shown).append(" of ").append(steps.size()).append(" steps)");
+
+        timeline.setOnFinished(e -> {
+            controlsBox.setDisable(false);
+            setExplanation(summary.toString(), result.negativeCycle());
+        });
+        timeline.play();
+    }
+
+    // Null restores the node's resting colour
+    private void setNodeColor(GraphModel.Node node, Color color) {
+        if (color == null) color = baseColor(node);
+        if (canvasRenderer != null) {
+            canvasRenderer.setHighlight(node, color == NODE_COLOR ? null : color);
+            return;
+        }
+        Group visual = nodeMap.get(node);
+        if (visual == null) return;
+        StackPane sp = (StackPane) visual.getChildren().get(0);
+        ((Circle) sp.getChildren().get(0)).setFill(color);
+    }
+
+    private Color baseColor(GraphModel.Node node) {
+        if (!model.isComponentTracking() || model.getComponentSize(node) < 2) return NODE_COLOR;
+        return COMPONENT_COLORS[Math.floorMod(model.getComponentId(node) * 31, COMPONENT_COLORS.length)];
+    }
+
     @FXML
     private void handleReset() {
         model.reset();
+        setExplanation("Graph Reset", false);
+    }
+
+    private void clearView() {
+        pendingDrags.clear();
+        if (layoutEngine != null) {
+            layoutEngine.clear();
+            layoutGeneration++;
+        }
+        layoutNodes.clear();
+        layoutIndex.clear();
+        pinnedNodes.clear();
+        if (canvasRenderer != null) {
+            canvasRenderer.clear();
+        } else {
+            visualizationPane.getChildren().clear();
+        }
+        nodeMap.clear();
+        edgeMap.clear();
+    }
+
+    @FXML
+    private void handleRenderModeToggle() {
+        boolean useCanvas = canvasModeCheckBox.isSelected();
+        if (useCanvas == (canvasRenderer != null)) return;
+
+        // Carry node positions over to the other renderer (stored as circle centres)
+        Map<GraphModel.Node, Point2D> centres = new HashMap<>();
+        for (GraphModel.Node node : model.getNodes()) {
+            centres.put(node, centreOf(node));
+        }
+
+        if (canvasRenderer != null) {
+            canvasRenderer.dispose();
+            canvasRenderer = null;
+        }
         visualizationPane.getChildren().clear();
         nodeMap.clear();
         edgeMap.clear();
-        setExplanation("Graph Reset", false);
+
+        if (useCanvas) {
+            canvasRenderer = new GraphCanvasRenderer(visualizationPane);
+            canvasRenderer.setOnNodeDragged(this::pinNode);
+        }
+        for (GraphModel.Node node : model.getNodes()) {
+            Point2D centre = centres.get(node);
+            drawNodeAt(node, centre.getX() - NODE_RADIUS, centre.getY() - NODE_RADIUS);
+        }
+        for (GraphModel.Edge edge : model.getEdges()) {
+            drawNewEdge(edge.source, edge.destination);
+        }
+        if (model.isComponentTracking()) {
+            model.getNodes().forEach(node -> setNodeColor(node, null));
+        }
+        setExplanation(useCanvas ? "Canvas rendering: drag empty space to select nodes" : "Scene-graph rendering", false);
+    }
+
+    @FXML
+    private void handleAutoLayoutToggle() {
+        if (autoLayoutCheckBox.isSelected()) {
+            startLayout();
+            setExplanation("Auto layout on: drag a node to pin it", false);
+        } else {
+            stopLayout();
+            setExplanation("Auto layout off", false);
+        }
+    }
+
+    private void startLayout() {
+        if (layoutEngine != null) return;
+        layoutEngine = new LayoutEngine(new FruchtermanReingoldLayout(),
+                visualizationPane.getWidth(), visualizationPane.getHeight());
+        for (GraphModel.Node node : model.getNodes()) {
+            Point2D centre = centreOf(node);
+            registerLayoutNode(node, centre.getX(), centre.getY());
+        }
+        for (GraphModel.Edge edge : model.getEdges()) {
+            layoutEngine.addEdge(layoutIndex.get(edge.source), layoutIndex.get(edge.destination));
+        }
+        visualizationPane.widthProperty().addListener(paneResized);
+        visualizationPane.heightProperty().addListener(paneResized);
+        layoutPulse.start();
+    }
+
+    private void stopLayout() {
+        if (layoutEngine == null) return;
+        layoutPulse.stop();
+        visualizationPane.widthProperty().removeListener(paneResized);
+        visualizationPane.heightProperty().removeListener(paneResized);
+        layoutEngine.close();
+        layoutEngine = null;
+        layoutNodes.clear();
+        layoutIndex.clear();
+        pinnedNodes.clear();
+        appliedLayout = null;
+        layoutGeneration = 0;
+    }
+
+    private void registerLayoutNode(GraphModel.Node node, double centreX, double centreY) {
+        layoutIndex.put(node, layoutEngine.addNode(centreX, centreY));
+        layoutNodes.add(node);
+    }
+
+    // Applies the newest layout positions, at most once per pulse
+    private void applyLayout() {
+        String failure = layoutEngine.failure();
+        if (failure != null) {
+            autoLayoutCheckBox.setSelected(false);
+            stopLayout();
+            setExplanation("Auto layout stopped: " + failure, true);
+            return;
+        }
+        LayoutEngine.Snapshot snapshot = layoutEngine.latest();
+        if (snapshot == null || snapshot == appliedLayout || snapshot.generation() != layoutGeneration
+                || layoutNodes.size() < snapshot.nodeCount()) return;
+        appliedLayout = snapshot;
+
+        for (int i = 0; i < snapshot.nodeCount(); i++) {
+            GraphModel.Node node = layoutNodes.get(i);
+            if (pinnedNodes.contains(node)) continue; // The user's position wins
+            moveNodeCentre(node, snapshot.x()[i], snapshot.y()[i]);
+        }
+    }
+
+    private void pinNode(GraphModel.Node node, Point2D centre) {
+        Integer index = layoutIndex.get(node);
+        if (layoutEngine == null || index == null) return;
+        pinnedNodes.add(node);
+        layoutEngine.pin(index, centre.getX(), centre.getY());
+    }
+
+    private Point2D centreOf(GraphModel.Node node) {
+        if (canvasRenderer != null) {
+            return canvasRenderer.getPosition(node);
+        }
+        Group visual = nodeMap.get(node);
+        return new Point2D(visual.getLayoutX() + visual.getTranslateX() + NODE_RADIUS,
+                visual.getLayoutY() + visual.getTranslateY() + NODE_RADIUS);
+    }
+
+    private void moveNodeCentre(GraphModel.Node node, double x, double y) {
+        if (canvasRenderer != null) {
+            canvasRenderer.moveNode(node, x, y);
+            return;
+        }
+        Group visual = nodeMap.get(node);
+        if (visual == null) return;
+        visual.setTranslateX(x - NODE_RADIUS - visual.getLayoutX());
+        visual.setTranslateY(y - NODE_RADIUS - visual.getLayoutY());
+        updateEdges(node);
     }
 
     private void drawNewNode(GraphModel.Node node) {
         Random rand = new Random();
         double x = rand.nextDouble() * (visualizationPane.getWidth() - 40) + 20;
         double y = rand.nextDouble() * (visualizationPane.getHeight() - 40) + 20;
+        drawNodeAt(node, x, y);
+        if (layoutEngine != null) {
+            registerLayoutNode(node, x + NODE_RADIUS, y + NODE_RADIUS);
+        }
+    }
+
+    // x and y are the top-left corner of the node, as for the scene-graph visuals
+    private void drawNodeAt(GraphModel.Node node, double x, double y) {
+        if (canvasRenderer != null) {
+            canvasRenderer.addNode(node, x + NODE_RADIUS, y + NODE_RADIUS);
+            return;
+        }
 
         Group nodeVisual = createVisualNode(node.id, x, y);
         nodeMap.put(node, nodeVisual);
@@ -142,15 +538,31 @@ public class GraphController {
             double newTranslateX = orgTranslateX + offsetX;
             double newTranslateY = orgTranslateY + offsetY;
 
-            nodeVisual.setTranslateX(newTranslateX);
-            nodeVisual.setTranslateY(newTranslateY);
+            pendingDrags.put(node, new Point2D(newTranslateX, newTranslateY));
+            dragPulse.start();
+        });
+    }
+
+    private void applyPendingDrags() {
+        for (Map.Entry<GraphModel.Node, Point2D> entry : pendingDrags.entrySet()) {
+            Group nodeVisual = nodeMap.get(entry.getKey());
+            if (nodeVisual == null) continue; // Removed by a reset
+            nodeVisual.setTranslateX(entry.getValue().getX());
+            nodeVisual.setTranslateY(entry.getValue().getY());
 
             // Update connected edges
-            updateEdges(node);
-        });
+            updateEdges(entry.getKey());
+            pinNode(entry.getKey(), centreOf(entry.getKey()));
+        }
+        pendingDrags.clear();
     }
 
     private void drawNewEdge(GraphModel.Node from, GraphModel.Node to) {
+        if (canvasRenderer != null) {
+            canvasRenderer.addEdge(from, to);
+            return;
+        }
+
         Group fromVisual = nodeMap.get(from);
         Group toVisual = nodeMap.get(to);
 
@@ -167,22 +579,23 @@ public class GraphController {
         edgeMap.put(new GraphModel.Edge(from, to), line);
     }
 
+    // Only the lines touching this node move, so a drag costs O(degree) rather than O(edges)
     private void updateEdges(GraphModel.Node node) {
-        for (GraphModel.Edge edge : model.getEdges()) {
+        Group visual = nodeMap.get(node);
+        double x = visual.getLayoutX() + visual.getTranslateX();
+        double y = visual.getLayoutY() + visual.getTranslateY();
+
+        for (GraphModel.Edge edge : model.getOutgoingEdges(node)) {
             Line line = edgeMap.get(edge);
             if (line == null) continue;
-
-            Group fromVisual = nodeMap.get(edge.source);
-            Group toVisual = nodeMap.get(edge.destination);
-
-            if (edge.source.equals(node)) {
-                line.setStartX(fromVisual.getLayoutX() + fromVisual.getTranslateX());
-                line.setStartY(fromVisual.getLayoutY() + fromVisual.getTranslateY());
-            }
-            if (edge.destination.equals(node)) {
-                line.setEndX(toVisual.getLayoutX() + toVisual.getTranslateX());
-                line.setEndY(toVisual.getLayoutY() + toVisual.getTranslateY());
-            }
+            line.setStartX(x);
+            line.setStartY(y);
+        }
+        for (GraphModel.Edge edge : model.getIncomingEdges(node)) {
+            Line line = edgeMap.get(edge);
+            if (line == null) continue;
+            line.setEndX(x);
+            line.setEndY(y);
         }
     }
 
@@ -204,6 +617,10 @@ public class GraphController {
     }
 
     private void animateTraversal(List<GraphModel.Node> nodes, String description) {
+        if (canvasRenderer != null) {
+            animateCanvasTraversal(nodes, description);
+            return;
+        }
         controlsBox.setDisable(true);
         SequentialTransition st = new SequentialTransition();
         StringBuilder traversalResult = new StringBuilder(description + ": ");
@@ -211,7 +628,7 @@ public class GraphController {
         for (GraphModel.Node node : nodes) {
             traversalResult.append(node.id).append(" ");
             Group visualNode = nodeMap.get(node);
-            st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00aaff")));
+            st.getChildren().add(createHighlightAnimation(visualNode, Color.web("#00aaff"), baseColor(node)));
         }
 
         st.setOnFinished(e -> {
@@ -221,7 +638,29 @@ public class GraphController {
         st.play();
     }
 
-    private Animation createHighlightAnimation(Group visualNode, Color color) {
+    // Same timing as createHighlightAnimation, but recolours canvas nodes instead of Circles
+    private void animateCanvasTraversal(List<GraphModel.Node> nodes, String description) {
+        controlsBox.setDisable(true);
+        Timeline timeline = new Timeline();
+        StringBuilder traversalResult = new StringBuilder(description + ": ");
+        Color highlight = Color.web("#00aaff");
+
+        for (int i = 0; i < nodes.size(); i++) {
+            GraphModel.Node node = nodes.get(i);
+            traversalResult.append(node.id).append(" ");
+            double start = i * 1000.0;
+            timeline.getKeyFrames().add(new KeyFrame(Duration.millis(start + 100), e -> canvasRenderer.setHighlight(node, highlight)));
+            timeline.getKeyFrames().add(new KeyFrame(Duration.millis(start + 1000), e -> setNodeColor(node, null)));
+        }
+
+        timeline.setOnFinished(e -> {
+            controlsBox.setDisable(false);
+            setExplanation(traversalResult.toString(), false);
+        });
+        timeline.play();
+    }
+
+    private Animation createHighlightAnimation(Group visualNode, Color color, Color restingColor) {
         StackPane sp = (StackPane) visualNode.getChildren().get(0);
         Circle circle = (Circle) sp.getChildren().get(0);
 
@@ -229,7 +668,7 @@ public class GraphController {
         ft.setToValue(color);
 
         FillTransition ftReverse = new FillTransition(Duration.millis(300), circle);
-        ftReverse.setToValue(Color.web("#007acc")); // Back to original color
+        ftReverse.setToValue(restingColor); // Back to original color
 
         return new SequentialTransition(new PauseTransition(Duration.millis(100)), ft, new PauseTransition(Duration.millis(300)), ftReverse);
     }
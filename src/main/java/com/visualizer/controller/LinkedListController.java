@@ -2,39 +2,92 @@ package com.visualizer.controller;
 
 import com.visualizer.database.DatabaseInterface;
 import com.visualizer.model.LinkedListModel;
-import javafx.animation.*;
+import com.visualizer.model.ModelListener;
 import javafx.fxml.FXML;
-import javafx.geometry.Pos;
-import javafx.scene.Group;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
-import javafx.scene.text.Text;
-import javafx.util.Duration;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
 
 public class LinkedListController {
 
     @FXML private TextField valueTextField;
     @FXML private Pane visualizationPane;
     @FXML private Label explanationLabel;
+    @FXML private TextField indexTextField;
+    @FXML private ChoiceBox<LinkedListModel.Linking> linkingChoiceBox;
+    @FXML private CheckBox skipIndexCheckBox;
 
     private LinkedListModel model;
     private DatabaseInterface db;
-    private final List<Group> visualNodes = new ArrayList<>();
+    private int capacity;
+    // Draws only the nodes that fit, with their next pointers; the rest are counted in its summary bands
+    private WindowedStripRenderer renderer;
 
     private static final double NODE_WIDTH = 80;
     private static final double NODE_HEIGHT = 40;
     private static final double NODE_GAP = 60; // Larger gap for pointer
 
+    // The model says exactly which position changed, so the view only touches that cell
+    private final ModelListener viewUpdater = new ModelListener() {
+        @Override
+        public void inserted(int index, String value) {
+            renderer.showArrival(index);
+        }
+
+        @Override
+        public void removed(int index, String value) {
+            renderer.showRemoval(index, value);
+        }
+
+        @Override
+        public void cleared() {
+            renderer.refresh();
+        }
+    };
+
     public void initializeModel(int capacity, DatabaseInterface db) {
-        this.model = new LinkedListModel(capacity, db);
         this.db = db;
+        this.capacity = capacity;
+        renderer = new WindowedStripRenderer(visualizationPane, WindowedStripRenderer.Orientation.HORIZONTAL,
+                NODE_WIDTH, NODE_HEIGHT, NODE_GAP, true, () -> model.getSize(),
+                (from, count) -> model.getValues(from, count));
+        useModel(new LinkedListModel(capacity, db));
+        linkingChoiceBox.getItems().setAll(LinkedListModel.Linking.values());
+        linkingChoiceBox.setValue(LinkedListModel.Linking.SINGLY);
+        linkingChoiceBox.setOnAction(e -> handleLinkingChange());
+    }
+
+    // A list cannot change its links in place, so switching starts a new one
+    private void handleLinkingChange() {
+        LinkedListModel.Linking linking = linkingChoiceBox.getValue();
+        if (linking == null || linking == model.getLinking()) return;
+        useModel(new LinkedListModel(capacity, db, linking));
+        setExplanation(switch (linking) {
+            case SINGLY -> "Singly linked: Remove Last walks from the head to find the new tail";
+            case DOUBLY -> "Doubly linked: every node also points back, so Remove Last is O(1)";
+        }, false);
+    }
+
+    private void useModel(LinkedListModel next) {
+        if (model != null) model.removeListener(viewUpdater);
+        model = next;
+        model.setIndexed(skipIndexCheckBox.isSelected());
+        model.addListener(viewUpdater);
+        renderer.refresh();
+    }
+
+    @FXML
+    private void handleSkipIndexToggle() {
+        model.setIndexed(skipIndexCheckBox.isSelected());
+        setExplanation(model.isIndexed()
+                ? "Skip index on: positions are reached by long jumps first, O(log n) links"
+                : "Skip index off: positions are reached by following next pointers, O(n) links", false);
     }
 
     @FXML
@@ -48,7 +101,6 @@ public class LinkedListController {
             model.addFirst(value);
             setExplanation("Added " + value + " to Head", false);
             valueTextField.clear();
-            redrawList("addFirst");
         } catch (IllegalStateException e) {
             setExplanation(e.getMessage(), true);
         }
@@ -65,7 +117,6 @@ public class LinkedListController {
             model.addLast(value);
             setExplanation("Added " + value + " to Tail", false);
             valueTextField.clear();
-            redrawList("addLast");
         } catch (IllegalStateException e) {
             setExplanation(e.getMessage(), true);
         }
@@ -76,7 +127,6 @@ public class LinkedListController {
         try {
             String value = model.removeFirst();
             setExplanation("Removed " + value + " from Head", false);
-            redrawList("removeFirst");
         } catch (IllegalStateException e) {
             setExplanation(e.getMessage(), true);
         }
@@ -87,190 +137,95 @@ public class LinkedListController {
         try {
             String value = model.removeLast();
             setExplanation("Removed " + value + " from Tail", false);
-            redrawList("removeLast");
         } catch (IllegalStateException e) {
             setExplanation(e.getMessage(), true);
         }
     }
 
     @FXML
-    private void handleReset() {
-        model.reset();
-        setExplanation("Linked List Reset", false);
-        redrawList("reset");
-    }
-
-    private void redrawList(String operation) {
-        List<String> values = model.getAllValues();
-        double totalWidth = values.size() * (NODE_WIDTH + NODE_GAP) - NODE_GAP;
-        if (totalWidth < 0) totalWidth = 0;
-
-        double startX = (visualizationPane.getWidth() - totalWidth) / 2;
-        double yPos = visualizationPane.getHeight() / 2 - NODE_HEIGHT / 2;
-
-        if (operation.equals("reset")) {
-            visualizationPane.getChildren().clear();
-            visualNodes.clear();
+    private void handleInsertAt() {
+        String value = valueTextField.getText();
+        if (value.isEmpty()) {
+            setExplanation("Error: Value cannot be empty", true);
             return;
         }
-
-        // --- Animation Logic ---
-
-        // 1. Handle removals
-        if (operation.equals("removeFirst")) {
-            if (!visualNodes.isEmpty()) {
-                animateNodeRemoval(visualNodes.remove(0));
-            }
-        } else if (operation.equals("removeLast")) {
-            if (!visualNodes.isEmpty()) {
-                animateNodeRemoval(visualNodes.remove(visualNodes.size() - 1));
-            }
-        }
-
-        // Clear all old pointers
-        visualizationPane.getChildren().removeIf(node -> node instanceof Line);
-
-        // 2. Animate existing nodes shifting
-        SequentialTransition shiftTransition = new SequentialTransition();
-        for (int i = 0; i < visualNodes.size(); i++) {
-            Group node = visualNodes.get(i);
-
-            int nodeIndex = i;
-            if (operation.equals("addFirst")) {
-                nodeIndex = i + 1; // The existing nodes are all shifted one to the right
-            }
-            // For other operations (addLast, removeFirst, removeLast), nodeIndex = i is correct.
-
-            double targetX = startX + nodeIndex * (NODE_WIDTH + NODE_GAP);
-            double targetY = yPos; // All nodes should be on the same yPos line
-
-            TranslateTransition tt = new TranslateTransition(Duration.millis(300), node);
-            tt.setToX(targetX - node.getLayoutX()); // Animate relative to current layoutX
-            tt.setToY(targetY - node.getLayoutY()); // Animate relative to current layoutY
-
-            // --- FIX ---
-            // When the shift animation finishes, bake in the new position
-            tt.setOnFinished(e -> {
-                node.setLayoutX(targetX);
-                node.setLayoutY(targetY);
-                node.setTranslateX(0);
-                node.setTranslateY(0);
-            });
-            // --- END FIX ---
-
-            shiftTransition.getChildren().add(tt);
+        try {
+            int index = readIndex();
+            renderer.scrollTo(Math.min(index, model.getSize() - 1));
+            model.insertAt(index, value);
+            setExplanation("Inserted " + value + " at " + index + describeWalk(), false);
+            renderer.animateVisits(walkPositions(model.getLastWalk()), -1);
+            valueTextField.clear();
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Index must be an integer", true);
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            setExplanation(e.getMessage(), true);
         }
-        shiftTransition.play();
+    }
 
-        // 3. Handle additions
-        if (operation.equals("addFirst")) {
-            Group newNode = createVisualNode(values.get(0));
-            newNode.setLayoutX(startX);
-            newNode.setLayoutY(yPos - 100); // Start above
-            animateNodeAddition(newNode, startX, yPos);
-            visualNodes.add(0, newNode);
-        } else if (operation.equals("addLast")) {
-            String newValue = values.get(values.size() - 1);
-            Group newNode = createVisualNode(newValue);
-            double targetX = startX + (values.size() - 1) * (NODE_WIDTH + NODE_GAP);
-            newNode.setLayoutX(targetX);
-            newNode.setLayoutY(yPos + 100); // Start below
-            animateNodeAddition(newNode, targetX, yPos);
-            visualNodes.add(newNode);
+    @FXML
+    private void handleRemoveAt() {
+        try {
+            int index = readIndex();
+            renderer.scrollTo(index);
+            String value = model.removeAt(index);
+            setExplanation("Removed " + value + " from " + index + describeWalk(), false);
+            renderer.animateVisits(walkPositions(model.getLastWalk()), -1);
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Index must be an integer", true);
+        } catch (IllegalStateException | IndexOutOfBoundsException e) {
+            setExplanation(e.getMessage(), true);
         }
+    }
 
-        // 4. Redraw pointers after shift
-        shiftTransition.setOnFinished(e -> drawPointers());
-        if (shiftTransition.getChildren().isEmpty()) {
-            drawPointers(); // Draw immediately if no shifting
+    @FXML
+    private void handleGet() {
+        try {
+            int index = readIndex();
+            String value = model.get(index);
+            setExplanation("Element " + index + " is " + value + describeWalk(), false);
+            renderer.animateVisits(walkPositions(model.getLastWalk()), index);
+        } catch (NumberFormatException e) {
+            setExplanation("Error: Index must be an integer", true);
+        } catch (IndexOutOfBoundsException e) {
+            setExplanation(e.getMessage(), true);
         }
     }
 
-    private void drawPointers() {
-        visualizationPane.getChildren().removeIf(node -> node instanceof Line);
-        for (int i = 0; i < visualNodes.size() - 1; i++) {
-            Group startNode = visualNodes.get(i);
-            Group endNode = visualNodes.get(i + 1);
-
-            // Use layoutX/Y as they are now the "baked in" final positions
-            double startX = startNode.getLayoutX() + NODE_WIDTH;
-            double startY = startNode.getLayoutY() + NODE_HEIGHT / 2;
-            double endX = endNode.getLayoutX();
-            double endY = endNode.getLayoutY() + NODE_HEIGHT / 2;
-
-            Line line = new Line(startX, startY, endX, endY);
-            line.getStyleClass().add("pointer-line");
-
-            // Add arrowhead
-            double arrowHeadSize = 5.0;
-            double dx = endX - startX;
-            double dy = endY - startY;
-            double angle = Math.atan2(dy, dx);
-
-            double x1 = endX - arrowHeadSize * Math.cos(angle - Math.PI / 6);
-            double y1 = endY - arrowHeadSize * Math.sin(angle - Math.PI / 6);
-            double x2 = endX - arrowHeadSize * Math.cos(angle + Math.PI / 6);
-            double y2 = endY - arrowHeadSize * Math.sin(angle + Math.PI / 6);
-
-            Line arrow1 = new Line(endX, endY, x1, y1);
-            Line arrow2 = new Line(endX, endY, x2, y2);
-            arrow1.getStyleClass().add("pointer-line");
-            arrow2.getStyleClass().add("pointer-line");
-
-            visualizationPane.getChildren().addAll(line, arrow1, arrow2);
+    @FXML
+    private void handleFind() {
+        String value = valueTextField.getText();
+        if (value.isEmpty()) {
+            setExplanation("Error: Value cannot be empty", true);
+            return;
         }
+        int index = model.find(value);
+        setExplanation((index < 0 ? value + " is not in the list" : "Found " + value + " at " + index)
+                + describeWalk(), false);
+        renderer.animateVisits(walkPositions(model.getLastWalk()), index);
     }
 
-    private void animateNodeRemoval(Group node) {
-        FadeTransition ft = new FadeTransition(Duration.millis(300), node);
-        ft.setToValue(0);
-        TranslateTransition tt = new TranslateTransition(Duration.millis(300), node);
-        tt.setByY(50); // Move down
-        ft.setOnFinished(e -> visualizationPane.getChildren().remove(node));
-
-        ParallelTransition pt = new ParallelTransition(ft, tt);
-        pt.play();
+    @FXML
+    private void handleReset() {
+        model.reset();
+        setExplanation("Linked List Reset", false);
     }
 
-    private void animateNodeAddition(Group node, double targetX, double targetY) {
-        node.setOpacity(0);
-        visualizationPane.getChildren().add(node);
-
-        FadeTransition ft = new FadeTransition(Duration.millis(300), node);
-        ft.setToValue(1);
-        TranslateTransition tt = new TranslateTransition(Duration.millis(300), node);
-        tt.setToX(targetX - node.getLayoutX()); // Animates translateX
-        tt.setToY(targetY - node.getLayoutY()); // Animates translateY
-
-        ParallelTransition pt = new ParallelTransition(ft, tt);
-
-        // --- FIX ---
-        // When animation finishes, set the layout to the final position
-        // and reset translation to 0. This "bakes in" the new position.
-        pt.setOnFinished(e -> {
-            node.setLayoutX(targetX);
-            node.setLayoutY(targetY);
-            node.setTranslateX(0);
-            node.setTranslateY(0);
-        });
-        // --- END FIX ---
-
-        pt.play();
+    private int readIndex() {
+        return Integer.parseInt(indexTextField.getText().trim());
     }
 
-    private Group createVisualNode(String value) {
-        StackPane stackPane = new StackPane();
-        stackPane.setPrefSize(NODE_WIDTH, NODE_HEIGHT);
-        stackPane.getStyleClass().add("data-node");
-        stackPane.setAlignment(Pos.CENTER);
-
-        Text text = new Text(value);
-        text.getStyleClass().add("data-node-text");
-
-        stackPane.getChildren().add(text);
+    private String describeWalk() {
+        return String.format(" (%,d links followed)", model.getLastSteps());
+    }
 
-        // Group allows us to treat node and pointer as one
-        return new Group(stackPane);
+    // Every node passed on level 0, only the landing node of a skip link
+    private static PrimitiveIterator.OfInt walkPositions(List<LinkedListModel.Hop> walk) {
+        return walk.stream().flatMapToInt(hop -> {
+            if (hop.level() > 0) return IntStream.of(hop.to());
+            if (hop.from() <= hop.to()) return IntStream.rangeClosed(hop.from(), hop.to());
+            return IntStream.iterate(hop.from(), p -> p >= hop.to(), p -> p - 1);
+        }).iterator();
     }
 
     private void setExplanation(String message, boolean isError) {
@@ -283,4 +238,4 @@ public class LinkedListController {
             explanationLabel.getStyleClass().add("success"); // Optional: add a 'success' class for green text
         }
     }
-}
\ No newline at end of file
+}
@@ -13,6 +13,10 @@ import java.util.Optional;
 
 public class MainMenuController {
 
+    // Models grow their storage on demand, so a large capacity only costs what is actually used
+    private static final int MAX_CAPACITY = 10_000_000;
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
     private DatabaseInterface db;
     private TabPane mainTabPane;
 
@@ -32,35 +36,35 @@ public class MainMenuController {
     @FXML
     private void handleStackClick() {
         promptForCapacity().ifPresent(capacity -> {
-            addStructureTab("StackView.fxml", "Stack (Capacity: " + capacity + ")", capacity);
+            addStructureTab("StackView.fxml", "Stack (Capacity: " + describeCapacity(capacity) + ")", capacity);
         });
     }
 
     @FXML
     private void handleQueueClick() {
         promptForCapacity().ifPresent(capacity -> {
-            addStructureTab("QueueView.fxml", "Queue (Capacity: " + capacity + ")", capacity);
+            addStructureTab("QueueView.fxml", "Queue (Capacity: " + describeCapacity(capacity) + ")", capacity);
         });
     }
 
     @FXML
     private void handleLinkedListClick() {
         promptForCapacity().ifPresent(capacity -> {
-            addStructureTab("LinkedListView.fxml", "Linked List (Capacity: " + capacity + ")", capacity);
+            addStructureTab("LinkedListView.fxml", "Linked List (Capacity: " + describeCapacity(capacity) + ")", capacity);
         });
     }
 
     @FXML
     private void handleBstClick() {
         promptForCapacity().ifPresent(capacity -> {
-            addStructureTab("BinaryTreeView.fxml", "BST (Capacity: " + capacity + ")", capacity);
+            addStructureTab("BinaryTreeView.fxml", "BST (Capacity: " + describeCapacity(capacity) + ")", capacity);
         });
     }
 
     @FXML
     private void handleGraphClick() {
         promptForCapacity().ifPresent(capacity -> {
-            addStructureTab("GraphView.fxml", "Graph (Capacity: " + capacity + ")", capacity);
+            addStructureTab("GraphView.fxml", "Graph (Capacity: " + describeCapacity(capacity) + ")", capacity);
         });
     }
 
@@ -68,13 +72,17 @@ public class MainMenuController {
         TextInputDialog dialog = new TextInputDialog("10");
         dialog.setTitle("Set Capacity");
         dialog.setHeaderText("Enter Data Structure Capacity");
-        dialog.setContentText("Please enter capacity (1-20):");
+        dialog.setContentText("Please enter capacity (1-" + MAX_CAPACITY + ", or \"unbounded\"):");
 
         Optional<String> result = dialog.showAndWait();
         if (result.isPresent()) {
+            String text = result.get().trim().replace("_", "").replace(",", "");
+            if (text.equalsIgnoreCase("unbounded")) {
+                return Optional.of(UNBOUNDED);
+            }
             try {
-                int capacity = Integer.parseInt(result.get());
-                if (capacity >= 1 && capacity <= 20) {
+                int capacity = Integer.parseInt(text);
+                if (capacity >= 1 && capacity <= MAX_CAPACITY) {
                     return Optional.of(capacity);
                 }
             } catch (NumberFormatException e) {
@@ -84,6 +92,10 @@ public class MainMenuController {
         return Optional.empty();
     }
 
+    private static String describeCapacity(int capacity) {
+        return capacity == UNBOUNDED ? "unbounded" : String.format("%,d", capacity);
+    }
+
     /**
      * Creates a new tab and adds it to the main TabPane.
      */
@@ -1,22 +1,12 @@
 package com.visualizer.controller;
 
 import com.visualizer.database.DatabaseInterface;
+import com.visualizer.model.ModelListener;
 import com.visualizer.model.StackModel;
-import javafx.animation.FadeTransition;
-import javafx.animation.TranslateTransition;
 import javafx.fxml.FXML;
-import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
-import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
-import javafx.util.Duration;
-
-import java.util.ArrayList;
-import java.util.List;
 
 public class StackController {
 
@@ -26,17 +16,40 @@ public class StackController {
 
     private StackModel model;
     private DatabaseInterface db;
+    // Draws only the elements that fit; the rest are counted in its summary bands
+    private WindowedStripRenderer renderer;
 
-    // List to keep track of visual nodes
-    private final List<StackPane> visualNodes = new ArrayList<>();
     private static final double NODE_WIDTH = 100;
     private static final double NODE_HEIGHT = 40;
     private static final double NODE_GAP = 10;
 
+    // Pushes and pops arrive as index events, so only the top cell is touched
+    private final ModelListener viewUpdater = new ModelListener() {
+        @Override
+        public void inserted(int index, String value) {
+            renderer.showArrival(index);
+        }
+
+        @Override
+        public void removed(int index, String value) {
+            renderer.showRemoval(index, value);
+        }
+
+        @Override
+        public void cleared() {
+            renderer.refresh();
+        }
+    };
+
     // This is called by MainMenuController AFTER the FXML is loaded
     public void initializeModel(int capacity, DatabaseInterface db) {
         this.model = new StackModel(capacity, db);
         this.db = db;
+        renderer = new WindowedStripRenderer(visualizationPane, WindowedStripRenderer.Orientation.VERTICAL,
+                NODE_WIDTH, NODE_HEIGHT, NODE_GAP, false, model::getSize,
+                WindowedStripRenderer.Slice.indexed(model::get));
+        model.addListener(viewUpdater);
+        renderer.refresh();
     }
 
     @FXML
@@ -50,7 +63,6 @@ public class StackController {
         try {
             model.push(value);
             setExplanation("Pushed " + value, false);
-            addNodeToView(value);
             valueTextField.clear();
         } catch (IllegalStateException e) {
             setExplanation(e.getMessage(), true);
@@ -62,7 +74,6 @@ public class StackController {
         try {
             String value = model.pop();
             setExplanation("Popped " + value, false);
-            removeNodeFromView();
         } catch (IllegalStateException e) {
             setExplanation(e.getMessage(), true);
         }
@@ -72,64 +83,6 @@ public class StackController {
     private void handleReset() {
         model.reset();
         setExplanation("Stack reset", false);
-        visualNodes.clear();
-        visualizationPane.getChildren().clear();
-    }
-
-    private void addNodeToView(String value) {
-        StackPane node = createVisualNode(value);
-        visualNodes.add(node);
-
-        double startX = visualizationPane.getWidth() / 2 - NODE_WIDTH / 2;
-        double startY = -NODE_HEIGHT; // Start above the pane
-        double endY = visualizationPane.getHeight() - (visualNodes.size() * (NODE_HEIGHT + NODE_GAP));
-
-        node.setLayoutX(startX);
-        node.setLayoutY(startY);
-        node.setOpacity(0);
-
-        visualizationPane.getChildren().add(node);
-
-        // Fade In
-        FadeTransition ft = new FadeTransition(Duration.millis(300), node);
-        ft.setToValue(1.0);
-        ft.play();
-
-        // Translate Down
-        TranslateTransition tt = new TranslateTransition(Duration.millis(500), node);
-        tt.setToY(endY - startY); // Relative to current layoutY
-        tt.play();
-    }
-
-    private void removeNodeFromView() {
-        if (visualNodes.isEmpty()) return;
-
-        StackPane node = visualNodes.remove(visualNodes.size() - 1);
-
-        // Fade Out
-        FadeTransition ft = new FadeTransition(Duration.millis(300), node);
-        ft.setToValue(0.0);
-
-        // Translate Up
-        TranslateTransition tt = new TranslateTransition(Duration.millis(300), node);
-        tt.setByY(-50); // Move up slightly
-
-        ft.setOnFinished(e -> visualizationPane.getChildren().remove(node));
-        tt.play();
-        ft.play();
-    }
-
-    private StackPane createVisualNode(String value) {
-        StackPane stackPane = new StackPane();
-        stackPane.setPrefSize(NODE_WIDTH, NODE_HEIGHT);
-        stackPane.getStyleClass().add("data-node");
-        stackPane.setAlignment(Pos.CENTER);
-
-        Text text = new Text(value);
-        text.getStyleClass().add("data-node-text");
-
-        stackPane.getChildren().addAll(text);
-        return stackPane;
     }
 
     private void setExplanation(String message, boolean isError) {
@@ -140,4 +93,4 @@ public class StackController {
             explanationLabel.getStyleClass().remove("error");
         }
     }
-}
\ No newline at end of file
+}
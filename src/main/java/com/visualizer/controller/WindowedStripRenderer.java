@@ -0,0 +1,340 @@
+package com.visualizer.controller;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
+import javafx.animation.ParallelTransition;
+import javafx.animation.Timeline;
+import javafx.animation.TranslateTransition;
+import javafx.geometry.Pos;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Draws a sequence as a strip of cells, but only creates scene nodes for the window that fits
+ * in the pane. Cells are pooled and rebound to new elements as the window moves, and a summary
+ * band at each end counts what is off-screen, so memory and layout cost follow the pane size
+ * rather than the length of the sequence.
+ * The wheel scrolls one element at a time (a page with Shift) and zooms with Ctrl;
+ * clicking a band jumps a page towards it.
+ */
+class WindowedStripRenderer {
+
+    /**
+     * HORIZONTAL runs left to right; VERTICAL runs bottom to top, like a stack.
+     */
+    enum Orientation { HORIZONTAL, VERTICAL }
+
+    /**
+     * Up to count values starting at index from.
+     */
+    @FunctionalInterface
+    interface Slice {
+        List<String> values(int from, int count);
+
+        static Slice indexed(IntFunction<String> elementAt) {
+            return (from, count) -> {
+                List<String> values = new ArrayList<>(count);
+                for (int i = from; i < from + count; i++) {
+                    values.add(elementAt.apply(i));
+                }
+                return values;
+            };
+        }
+    }
+
+    private static final double BAND_SIZE = 40;
+    private static final double ARROW_HEAD = 5;
+    private static final double MIN_ZOOM = 0.25;
+    private static final double MAX_ZOOM = 2;
+    private static final double ZOOM_STEP = 1.1;
+    private static final Duration FADE_DURATION = Duration.millis(300);
+    private static final Duration VISIT_STEP = Duration.millis(150);
+    private static final int FOUND_STEPS = 4; // How long the target stays lit, in visit steps
+
+    private final Pane pane;
+    private final Orientation orientation;
+    private final double cellWidth;
+    private final double cellHeight;
+    private final double gap;
+    private final boolean pointers;
+    private final IntSupplier size;
+    private final Slice slice;
+
+    private final Group layer = new Group();
+    private final Scale zoomTransform = new Scale(1, 1, 0, 0);
+    private final List<Group> cells = new ArrayList<>(); // Pool; only the first shownCount are in use
+    private final Label beforeBand = new Label();
+    private final Label afterBand = new Label();
+
+    private double zoom = 1;
+    private int first;      // Index of the first element in the window
+    private int shownCount; // Elements in the window after the last refresh
+    private int pageSize = 1;
+    private Timeline walkAnimation;
+
+    WindowedStripRenderer(Pane pane, Orientation orientation, double cellWidth, double cellHeight, double gap,
+                          boolean pointers, IntSupplier size, Slice slice) {
+        this.pane = pane;
+        this.orientation = orientation;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.gap = gap;
+        this.pointers = pointers;
+        this.size = size;
+        this.slice = slice;
+
+        layer.getTransforms().add(zoomTransform);
+        beforeBand.getStyleClass().add("summary-band");
+        afterBand.getStyleClass().add("summary-band");
+        beforeBand.setOnMouseClicked(e -> scrollBy(-pageSize));
+        afterBand.setOnMouseClicked(e -> scrollBy(pageSize));
+        pane.getChildren().setAll(layer, beforeBand, afterBand);
+
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(pane.widthProperty());
+        clip.heightProperty().bind(pane.heightProperty());
+        pane.setClip(clip);
+        pane.widthProperty().addListener(o -> refresh());
+        pane.heightProperty().addListener(o -> refresh());
+        pane.addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+    }
+
+    /**
+     * Rebinds the window to the current contents. Costs O(window), plus whatever the slice costs.
+     */
+    void refresh() {
+        int total = size.getAsInt();
+        double extent = axisLength() / zoom;
+        double pitch = length() + gap;
+        pageSize = Math.max(1, (int) ((extent - 2 * BAND_SIZE / zoom + gap) / pitch));
+        first = Math.max(0, Math.min(first, total - pageSize));
+        shownCount = Math.min(pageSize, total - first);
+
+        List<String> values = shownCount > 0 ? slice.values(first, shownCount) : List.of();
+        while (cells.size() < shownCount) {
+            Group cell = createCell();
+            cells.add(cell);
+            layer.getChildren().add(cell);
+        }
+
+        // Short sequences are centred; a stack sits on the bottom band
+        double used = shownCount * pitch - gap;
+        double start = orientation == Orientation.VERTICAL
+                ? extent - BAND_SIZE / zoom
+                : Math.max(BAND_SIZE / zoom, (extent - used) / 2);
+        double cross = crossLength() / zoom / 2;
+        for (int k = 0; k < cells.size(); k++) {
+            Group cell = cells.get(k);
+            if (k >= shownCount) {
+                cell.setVisible(false);
+                continue;
+            }
+            bind(cell, values.get(k), first + k == total - 1);
+            if (orientation == Orientation.HORIZONTAL) {
+                cell.setLayoutX(start + k * pitch);
+                cell.setLayoutY(cross - cellHeight / 2);
+            } else {
+                cell.setLayoutX(cross - cellWidth / 2);
+                cell.setLayoutY(start - (k + 1) * pitch + gap);
+            }
+            cell.setOpacity(1);
+            cell.setVisible(true);
+        }
+        layoutBands(total);
+    }
+
+    void scrollBy(int elements) {
+        first = (int) Math.max(0, Math.min(Integer.MAX_VALUE, (long) first + elements));
+        refresh();
+    }
+
+    // Centres index in the window if it is not already showing
+    void scrollTo(int index) {
+        if (index >= first && index < first + shownCount) return;
+        first = Math.max(0, index - pageSize / 2);
+        refresh();
+    }
+
+    /**
+     * Brings target into view, then lights up the visited positions that fall in the window one
+     * after another and finally target; -1 for no target. Positions outside the window are passed
+     * over without a pause, so a long walk only takes as long as the part that can be seen.
+     */
+    void animateVisits(PrimitiveIterator.OfInt positions, int target) {
+        if (walkAnimation != null) {
+            walkAnimation.stop();
+            for (Group cell : cells) {
+                cell.getChildren().get(0).getStyleClass().removeAll("data-node-visited", "data-node-found");
+            }
+        }
+        if (target >= 0) scrollTo(target);
+
+        walkAnimation = new Timeline();
+        int step = 0;
+        while (positions.hasNext()) {
+            int position = positions.nextInt();
+            if (position < first || position >= first + shownCount) continue;
+            Node box = cells.get(position - first).getChildren().get(0);
+            walkAnimation.getKeyFrames().addAll(
+                    new KeyFrame(VISIT_STEP.multiply(step), e -> box.getStyleClass().add("data-node-visited")),
+                    new KeyFrame(VISIT_STEP.multiply(step + 1), e -> box.getStyleClass().remove("data-node-visited")));
+            step++;
+        }
+        if (target >= first && target < first + shownCount) {
+            Node box = cells.get(target - first).getChildren().get(0);
+            walkAnimation.getKeyFrames().addAll(
+                    new KeyFrame(VISIT_STEP.multiply(step), e -> box.getStyleClass().add("data-node-found")),
+                    new KeyFrame(VISIT_STEP.multiply(step + FOUND_STEPS), e -> box.getStyleClass().remove("data-node-found")));
+        }
+        walkAnimation.play();
+    }
+
+    /**
+     * Refreshes after an element was inserted at index and fades it in. A window that reached the
+     * end follows an append so the newest element stays in view, and one past the insert point
+     * shifts with its elements.
+     */
+    void showArrival(int index) {
+        if (index == size.getAsInt() - 1 && first + shownCount >= index) {
+            first = Integer.MAX_VALUE; // Clamped by refresh
+        } else if (index < first) {
+            first++;
+        }
+        refresh();
+        if (index < first || index >= first + shownCount) return;
+        Group cell = cells.get(index - first);
+        cell.setOpacity(0);
+        FadeTransition ft = new FadeTransition(FADE_DURATION, cell);
+        ft.setToValue(1);
+        ft.play();
+    }
+
+    /**
+     * Leaves a fading copy of the element that was at index, if it was in the window, then refreshes.
+     * Call once the element is gone; the cells still show the old contents until the refresh.
+     */
+    void showRemoval(int index, String value) {
+        if (index < first) {
+            first--;
+        } else if (index < first + shownCount) {
+            animateRemoval(cells.get(index - first), value);
+        }
+        refresh();
+    }
+
+    private void animateRemoval(Group old, String value) {
+        Group ghost = createCell();
+        bind(ghost, value, true);
+        ghost.setLayoutX(old.getLayoutX());
+        ghost.setLayoutY(old.getLayoutY());
+        layer.getChildren().add(ghost);
+
+        FadeTransition ft = new FadeTransition(FADE_DURATION, ghost);
+        ft.setToValue(0);
+        TranslateTransition tt = new TranslateTransition(FADE_DURATION, ghost);
+        if (orientation == Orientation.HORIZONTAL) tt.setByY(50);
+        else tt.setByY(-50);
+        ParallelTransition pt = new ParallelTransition(ft, tt);
+        pt.setOnFinished(e -> layer.getChildren().remove(ghost));
+        pt.play();
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        double delta = event.getDeltaY() != 0 ? event.getDeltaY() : event.getDeltaX();
+        if (delta == 0) return;
+        if (event.isControlDown()) {
+            zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, delta > 0 ? zoom * ZOOM_STEP : zoom / ZOOM_STEP));
+            zoomTransform.setX(zoom);
+            zoomTransform.setY(zoom);
+            refresh();
+        } else {
+            int step = event.isShiftDown() ? pageSize : 1;
+            // Wheel up shows later elements of a stack (further up) but earlier ones of a row
+            boolean towardsEnd = orientation == Orientation.VERTICAL ? delta > 0 : delta < 0;
+            scrollBy(towardsEnd ? step : -step);
+        }
+        event.consume();
+    }
+
+    private void layoutBands(int total) {
+        int before = first;
+        int after = total - first - shownCount;
+        beforeBand.setVisible(before > 0);
+        afterBand.setVisible(after > 0);
+        if (orientation == Orientation.HORIZONTAL) {
+            beforeBand.setText(String.format("< %,d more", before));
+            afterBand.setText(String.format("%,d more >", after));
+            beforeBand.setLayoutX(4);
+            afterBand.setLayoutX(pane.getWidth() - afterBand.prefWidth(-1) - 4);
+            beforeBand.setLayoutY(pane.getHeight() / 2 - beforeBand.prefHeight(-1) / 2);
+            afterBand.setLayoutY(pane.getHeight() / 2 - afterBand.prefHeight(-1) / 2);
+        } else {
+            beforeBand.setText(String.format("%,d more below", before));
+            afterBand.setText(String.format("%,d more above", after));
+            beforeBand.setLayoutX(pane.getWidth() / 2 - beforeBand.prefWidth(-1) / 2);
+            afterBand.setLayoutX(pane.getWidth() / 2 - afterBand.prefWidth(-1) / 2);
+            beforeBand.setLayoutY(pane.getHeight() - beforeBand.prefHeight(-1) - 4);
+            afterBand.setLayoutY(4);
+        }
+    }
+
+    // A cell is the element box, plus an arrow to the next element when drawing pointers
+    private Group createCell() {
+        StackPane box = new StackPane();
+        box.setPrefSize(cellWidth, cellHeight);
+        box.getStyleClass().add("data-node");
+        box.setAlignment(Pos.CENTER);
+        Text text = new Text();
+        text.getStyleClass().add("data-node-text");
+        box.getChildren().add(text);
+
+        Group cell = new Group(box);
+        if (pointers) {
+            double y = cellHeight / 2;
+            double endX = cellWidth + gap;
+            Line shaft = new Line(cellWidth, y, endX, y);
+            Line upper = new Line(endX, y, endX - ARROW_HEAD, y - ARROW_HEAD);
+            Line lower = new Line(endX, y, endX - ARROW_HEAD, y + ARROW_HEAD);
+            for (Line line : List.of(shaft, upper, lower)) {
+                line.getStyleClass().add("pointer-line");
+            }
+            cell.getChildren().add(new Group(shaft, upper, lower));
+        }
+        return cell;
+    }
+
+    private void bind(Group cell, String value, boolean last) {
+        StackPane box = (StackPane) cell.getChildren().get(0);
+        ((Text) box.getChildren().get(0)).setText(value);
+        if (pointers) {
+            cell.getChildren().get(1).setVisible(!last);
+        }
+    }
+
+    private double length() {
+        return orientation == Orientation.HORIZONTAL ? cellWidth : cellHeight;
+    }
+
+    private double axisLength() {
+        return orientation == Orientation.HORIZONTAL ? pane.getWidth() : pane.getHeight();
+    }
+
+    private double crossLength() {
+        return orientation == Orientation.HORIZONTAL ? pane.getHeight() : pane.getWidth();
+    }
+}
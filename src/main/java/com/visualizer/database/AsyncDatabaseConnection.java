@@ -0,0 +1,269 @@
+package com.visualizer.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wraps another DatabaseInterface and moves operation logging off the calling thread.
+ * Log records are queued on a bounded ring buffer and a single writer thread
+ * drains them in batches, so the JavaFX thread never waits on disk I/O.
+ * Snapshots share the same queue, so they are written in order with the log.
+ * Raw SQL statements are rare (schema, maintenance) and run synchronously after a flush.
+ */
+public class AsyncDatabaseConnection implements DatabaseInterface {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    public static final long DEFAULT_MAX_LATENCY_MS = 50;
+
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    /**
+     * Point-in-time view of the writer counters.
+     */
+    public record Stats(int queueDepth, long enqueued, long written, long batches,
+                        int lastBatchSize, int largestBatchSize, long dropped, long blocked) {
+    }
+
+    private final DatabaseInterface delegate;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final boolean blockWhenFull;
+    private final Thread writerThread;
+    private final Object delegateLock = new Object(); // The delegate is not thread-safe
+    private volatile boolean running = true;
+
+    // Counters
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+    private final AtomicInteger largestBatchSize = new AtomicInteger();
+
+    // Records accepted but not yet handed to the delegate, used by flush()
+    private final AtomicLong pending = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    public AsyncDatabaseConnection(DatabaseInterface delegate) {
+        this(delegate, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_LATENCY_MS, true);
+    }
+
+    /**
+     * @param delegate       The connection that performs the actual writes.
+     * @param queueCapacity  Number of log records the ring buffer can hold.
+     * @param maxBatchSize   Largest number of records written in one transaction.
+     * @param maxLatencyMs   Longest time a record may wait for its batch to fill up.
+     * @param blockWhenFull  If true, callers wait when the buffer is full; otherwise the write is dropped.
+     */
+    public AsyncDatabaseConnection(DatabaseInterface delegate, int queueCapacity, int maxBatchSize,
+                                   long maxLatencyMs, boolean blockWhenFull) {
+        if (queueCapacity < 1 || maxBatchSize < 1 || maxLatencyMs < 0) {
+            throw new IllegalArgumentException("Invalid async writer configuration.");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMs);
+        this.blockWhenFull = blockWhenFull;
+
+        this.writerThread = new Thread(this::runWriter, "operation-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void executeUpdate(String sql) {
+        flush();
+        synchronized (delegateLock) {
+            delegate.executeUpdate(sql);
+        }
+    }
+
+    @Override
+    public void executeBatch(List<String> statements) {
+        flush();
+        synchronized (delegateLock) {
+            delegate.executeBatch(statements);
+        }
+    }
+
+    // Reads see everything logged before the call
+    @Override
+    public List<LoggedOperation> queryOperations(LogQuery query, int limit) {
+        flush();
+        synchronized (delegateLock) {
+            return delegate.queryOperations(query, limit);
+        }
+    }
+
+    @Override
+    public OperationCursor openCursor(LogQuery query) {
+        flush();
+        synchronized (delegateLock) {
+            return delegate.openCursor(query);
+        }
+    }
+
+    @Override
+    public StructureSnapshot loadLatestSnapshot(String structure) {
+        flush();
+        synchronized (delegateLock) {
+            return delegate.loadLatestSnapshot(structure);
+        }
+    }
+
+    @Override
+    public void logOperation(String structure, String operation, String value) {
+        enqueue(new OperationLog(structure, operation, value));
+    }
+
+    @Override
+    public void saveSnapshot(String structure, byte[] data) {
+        enqueue(new SnapshotWrite(structure, data));
+    }
+
+    private void enqueue(PendingWrite entry) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.incrementAndGet();
+        if (!queue.offer(entry)) {
+            if (!blockWhenFull) {
+                pending.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            }
+            blocked.incrementAndGet();
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            }
+        }
+        enqueued.incrementAndGet();
+    }
+
+    /**
+     * Blocks until every record queued so far has been written.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            while (pending.get() > 0 && writerThread.isAlive()) {
+                try {
+                    flushLock.wait(maxLatencyNanos / 1_000_000 + 10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(queue.size(), enqueued.get(), written.get(), batches.get(),
+                lastBatchSize.get(), largestBatchSize.get(), dropped.get(), blocked.get());
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(maxLatencyNanos + 1, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Keep filling the batch until it is full or the oldest entry has waited long enough
+                long deadline = System.nanoTime() + maxLatencyNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0 || !running) break;
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Closing: fall through and write whatever we already hold
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        int stored = 0; // Writes already handed to the delegate without an error
+        try {
+            synchronized (delegateLock) {
+                // Consecutive log records go out as one transaction; a snapshot ends the run
+                List<OperationLog> logs = new ArrayList<>(batch.size());
+                for (PendingWrite write : batch) {
+                    if (write instanceof OperationLog log) {
+                        logs.add(log);
+                    } else if (write instanceof SnapshotWrite snapshot) {
+                        if (!logs.isEmpty()) {
+                            delegate.logOperations(logs);
+                            stored += logs.size();
+                            logs.clear();
+                        }
+                        delegate.saveSnapshot(snapshot.structure(), snapshot.data());
+                        stored++;
+                    }
+                }
+                if (!logs.isEmpty()) {
+                    delegate.logOperations(logs);
+                }
+            }
+            stored = batch.size();
+        } catch (RuntimeException e) {
+            System.err.println("Async log writer error: " + e.getMessage());
+            dropped.addAndGet(batch.size() - stored);
+        }
+        written.addAndGet(stored);
+        batches.incrementAndGet();
+        lastBatchSize.set(batch.size());
+        largestBatchSize.accumulateAndGet(batch.size(), Math::max);
+
+        pending.addAndGet(-batch.size());
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+    }
+
+    /**
+     * Stops accepting writes, drains the buffer and closes the underlying connection.
+     */
+    @Override
+    public void close() {
+        if (!running) return;
+        flush();
+        running = false;
+        try {
+            writerThread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            System.err.println("Async log writer did not finish, " + queue.size() + " log records lost.");
+        }
+        Stats stats = getStats();
+        System.out.println("Async log writer closed: " + stats.written() + " records in "
+                + stats.batches() + " batches (dropped " + stats.dropped() + ", blocked " + stats.blocked() + ").");
+        delegate.close();
+    }
+}
@@ -1,5 +1,8 @@
 package com.visualizer.database;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 public interface DatabaseInterface extends AutoCloseable {
     /**
      * Executes a data manipulation statement (INSERT, UPDATE, CREATE).
@@ -7,9 +10,86 @@ public interface DatabaseInterface extends AutoCloseable {
      */
     void executeUpdate(String sql);
 
+    /**
+     * Executes several statements as one unit of work.
+     * Implementations that support transactions should commit them together.
+     * @param statements The SQL statements to execute, in order.
+     */
+    default void executeBatch(List<String> statements) {
+        for (String sql : statements) {
+            executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Records one operation in the operation_logs table.
+     * Values are bound as parameters, so callers never build SQL themselves.
+     * @param structure The data structure that was changed (e.g. "Stack").
+     * @param operation The operation name (e.g. "Push").
+     * @param value     The operation argument or result, may be null.
+     */
+    void logOperation(String structure, String operation, String value);
+
+    /**
+     * Records one operation of a particular model, together with a way to encode that model's
+     * current state so implementations can take periodic snapshots of it. By default only the
+     * operation is recorded.
+     * @param snapshot Encodes the model that performed the operation; the same object on every call
+     *                 from that model.
+     */
+    default void logOperation(String structure, String operation, String value, Supplier<byte[]> snapshot) {
+        logOperation(structure, operation, value);
+    }
+
+    /**
+     * Records several operations as one unit of work, in order.
+     * @param entries The operations to record.
+     * @throws IllegalStateException If the entries could not be stored.
+     */
+    default void logOperations(List<OperationLog> entries) {
+        for (OperationLog entry : entries) {
+            logOperation(entry.structure(), entry.operation(), entry.value());
+        }
+    }
+
+    /**
+     * Reads one page of logged operations, in id order.
+     * To fetch the next page, call again with {@code query.after(lastRow.id())}.
+     * @param query Which rows to read.
+     * @param limit Maximum number of rows to return.
+     */
+    default List<LoggedOperation> queryOperations(LogQuery query, int limit) {
+        return List.of();
+    }
+
+    /**
+     * Opens a streaming cursor over logged operations, in id order.
+     * The caller must close the returned cursor.
+     * @param query Which rows to read.
+     */
+    default OperationCursor openCursor(LogQuery query) {
+        return OperationCursor.empty();
+    }
+
+    /**
+     * Stores a snapshot of a structure, stamped with the id of its latest logged operation.
+     * @param structure The structure the snapshot belongs to (e.g. "Stack").
+     * @param data      The encoded state.
+     */
+    default void saveSnapshot(String structure, byte[] data) {
+    }
+
+    /**
+     * Returns the most recent snapshot of a structure, or null if there is none.
+     */
+    default StructureSnapshot loadLatestSnapshot(String structure) {
+        return null;
+    }
+
+
     /**
      * Closes the database connection.
      */
     @Override
     void close();
-}
\ No newline at end of file
+}
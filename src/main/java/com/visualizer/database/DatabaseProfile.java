@@ -0,0 +1,60 @@
+package com.visualizer.database;
+
+import java.util.Locale;
+
+/**
+ * The database setups MainApplication can start with.
+ * Selected with the --db=&lt;name&gt; launch parameter, e.g. --db=mock.
+ */
+public enum DatabaseProfile {
+    /** Prints operations to the console, nothing is stored. */
+    MOCK,
+    /** SQLite with its default settings, writes are still batched off the UI thread and snapshotted. */
+    SQLITE,
+    /** SQLite in WAL mode with a larger cache and indexed operation_logs. */
+    SQLITE_TUNED;
+
+    public static final DatabaseProfile DEFAULT_PROFILE = SQLITE_TUNED;
+
+    /**
+     * Creates the connection described by this profile.
+     * @param dbFilePath The SQLite file to open (ignored for MOCK).
+     */
+    public DatabaseInterface open(String dbFilePath) {
+        return switch (this) {
+            case MOCK -> new MockDatabaseConnection();
+            case SQLITE -> openSQLite(dbFilePath, SQLiteProfile.DEFAULT);
+            case SQLITE_TUNED -> openSQLite(dbFilePath, SQLiteProfile.PERFORMANCE);
+        };
+    }
+
+    private static DatabaseInterface openSQLite(String dbFilePath, SQLiteProfile profile) {
+        return new SnapshottingDatabaseConnection(
+                new AsyncDatabaseConnection(new SQLiteDatabaseConnection(dbFilePath, profile)));
+    }
+
+    /**
+     * Parses a profile name such as "mock" or "sqlite-tuned".
+     * @throws IllegalArgumentException If the name is not a profile.
+     */
+    public static DatabaseProfile parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown database profile '" + name + "'");
+        }
+    }
+
+    /**
+     * Like {@link #parse(String)}, but returns the default profile if the name is null or unknown.
+     */
+    public static DatabaseProfile fromName(String name) {
+        if (name == null || name.isBlank()) return DEFAULT_PROFILE;
+        try {
+            return parse(name);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + ", using " + DEFAULT_PROFILE);
+            return DEFAULT_PROFILE;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.visualizer.database;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Filter for reading operation_logs. Rows are always returned in id order.
+ * @param structure The structure to read (e.g. "Stack"), or null for all structures.
+ * @param from      Inclusive UTC lower bound on the timestamp, or null.
+ * @param to        Exclusive UTC upper bound on the timestamp, or null.
+ * @param afterId   Only rows with a larger id are returned; used to page through results.
+ */
+public record LogQuery(String structure, LocalDateTime from, LocalDateTime to, long afterId) {
+
+    // Same format SQLite uses for CURRENT_TIMESTAMP, so bounds compare as plain text
+    static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static LogQuery forStructure(String structure) {
+        return new LogQuery(structure, null, null, 0);
+    }
+
+    public LogQuery between(LocalDateTime from, LocalDateTime to) {
+        return new LogQuery(structure, from, to, afterId);
+    }
+
+    /**
+     * Returns the query for the page that follows the row with the given id.
+     */
+    public LogQuery after(long id) {
+        return new LogQuery(structure, from, to, id);
+    }
+}
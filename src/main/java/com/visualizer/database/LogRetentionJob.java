@@ -0,0 +1,327 @@
+package com.visualizer.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Background clean-up of operation_logs. Runs on its own connection and works in
+ * small transactions with short pauses between them, so the log writer and the UI
+ * are never held up for long. Meant to be scheduled periodically.
+ */
+public class LogRetentionJob implements Runnable {
+
+    /**
+     * What one run removed and how much space it gave back.
+     * pagesFreed went onto the free list and will be reused for new rows; pagesReturned were cut from
+     * the file. convertedToIncremental is set on the run that switched the file to auto_vacuum = INCREMENTAL.
+     */
+    public record Report(long expired, long trimmed, long collapsed, long archived,
+                         long pagesFreed, long pagesReturned, long freePagesLeft, boolean convertedToIncremental) {
+    }
+
+    private static final long PAUSE_BETWEEN_CHUNKS_MS = 20;
+    private static final int BUSY_TIMEOUT_MS = 2000;
+    private static final int VACUUM_PAGES_PER_STEP = 256;
+    private static final int MAX_PENDING_PAIRS = 100_000;
+
+    // An operation undone by the one that follows it, e.g. Push undone by Pop
+    private static final Map<String, String> INVERSE_OPERATIONS = Map.of(
+            "Pop", "Push",
+            "RemoveFirst", "AddFirst",
+            "RemoveLast", "AddLast");
+
+    private final String url;
+    private final RetentionPolicy policy;
+
+    public LogRetentionJob(String dbFilePath, RetentionPolicy policy) {
+        this.url = "jdbc:sqlite:" + dbFilePath;
+        this.policy = policy;
+    }
+
+    @Override
+    public void run() {
+        Report report = runOnce();
+        if (report != null) {
+            System.out.println("Log retention: " + report);
+        }
+    }
+
+    /**
+     * Applies the policy once and returns what was done, or null if the database could not be opened.
+     */
+    public Report runOnce() {
+        try (Connection conn = DriverManager.getConnection(url)) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            }
+            if (policy.archive()) {
+                createArchiveTable(conn);
+            }
+
+            long pagesBefore = pragmaLong(conn, "PRAGMA page_count");
+            long freeBefore = freePages(conn);
+            long expired = 0;
+            long trimmed = 0;
+            long collapsed = 0;
+
+            for (String structure : structures(conn)) {
+                long boundary = snapshotBoundary(conn, structure);
+                if (policy.maxAge() != null) {
+                    expired += removeExpired(conn, structure, boundary);
+                }
+                if (policy.maxRowsPerStructure() > 0) {
+                    trimmed += removeExcess(conn, structure, boundary);
+                }
+                if (policy.collapseCancellingPairs()) {
+                    collapsed += collapsePairs(conn, structure, boundary);
+                }
+            }
+
+            long archived = policy.archive() ? expired + trimmed + collapsed : 0;
+            long freed = Math.max(0, freePages(conn) - freeBefore);
+            boolean converted = false;
+            if (pragmaLong(conn, "PRAGMA auto_vacuum") == 2) {
+                incrementalVacuum(conn);
+            } else {
+                converted = convertToIncremental(conn);
+            }
+            long returned = Math.max(0, pagesBefore - pragmaLong(conn, "PRAGMA page_count"));
+            return new Report(expired, trimmed, collapsed, archived, freed, returned, freePages(conn), converted);
+        } catch (SQLException e) {
+            System.err.println("Log retention failed: " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // --- Policies ---
+
+    private long removeExpired(Connection conn, String structure, long boundary) throws SQLException, InterruptedException {
+        String sql = """
+            SELECT id FROM operation_logs
+            WHERE structure = ? AND id <= ? AND timestamp < datetime('now', ?)
+            ORDER BY id LIMIT ?
+            """;
+        String age = "-" + policy.maxAge().toSeconds() + " seconds";
+        long removed = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, structure);
+                stmt.setLong(2, boundary);
+                stmt.setString(3, age);
+                stmt.setInt(4, policy.chunkSize());
+                readIds(stmt, ids);
+            }
+            if (ids.isEmpty()) return removed;
+            removed += removeRows(conn, ids);
+            Thread.sleep(PAUSE_BETWEEN_CHUNKS_MS);
+        }
+    }
+
+    private long removeExcess(Connection conn, String structure, long boundary) throws SQLException, InterruptedException {
+        // Id of the newest row that falls outside the allowed count
+        long cutoff;
+        String cutoffSql = "SELECT id FROM operation_logs WHERE structure = ? ORDER BY id DESC LIMIT 1 OFFSET ?";
+        try (PreparedStatement stmt = conn.prepareStatement(cutoffSql)) {
+            stmt.setString(1, structure);
+            stmt.setInt(2, policy.maxRowsPerStructure());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return 0;
+                cutoff = Math.min(rs.getLong(1), boundary);
+            }
+        }
+
+        String sql = "SELECT id FROM operation_logs WHERE structure = ? AND id <= ? ORDER BY id LIMIT ?";
+        long removed = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, structure);
+                stmt.setLong(2, cutoff);
+                stmt.setInt(3, policy.chunkSize());
+                readIds(stmt, ids);
+            }
+            if (ids.isEmpty()) return removed;
+            removed += removeRows(conn, ids);
+            Thread.sleep(PAUSE_BETWEEN_CHUNKS_MS);
+        }
+    }
+
+    /**
+     * Finds operations that are undone by a later one with nothing else in between
+     * (other than pairs that cancel themselves), e.g. Push a, Push b, Pop b, Pop a.
+     * Pairs never straddle the snapshot boundary, since the snapshot already includes the first half.
+     */
+    private long collapsePairs(Connection conn, String structure, long boundary) throws SQLException, InterruptedException {
+        record Row(long id, String operation, String value) {
+        }
+        Deque<Row> open = new ArrayDeque<>();
+        List<Long> doomed = new ArrayList<>();
+        long removed = 0;
+
+        String sql = "SELECT id, operation, value FROM operation_logs WHERE structure = ? ORDER BY id";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, structure);
+            stmt.setFetchSize(policy.chunkSize());
+            try (ResultSet rs = stmt.executeQuery()) {
+                boolean pastBoundary = false;
+                while (rs.next()) {
+                    Row row = new Row(rs.getLong(1), rs.getString(2), rs.getString(3));
+                    if (!pastBoundary && row.id() > boundary) {
+                        pastBoundary = true;
+                        open.clear();
+                    }
+
+                    String opener = INVERSE_OPERATIONS.get(row.operation());
+                    Row top = open.peek();
+                    if (opener != null && top != null && opener.equals(top.operation())
+                            && Objects.equals(top.value(), row.value())) {
+                        open.pop();
+                        doomed.add(top.id());
+                        doomed.add(row.id());
+                    } else if (INVERSE_OPERATIONS.containsValue(row.operation()) && open.size() < MAX_PENDING_PAIRS) {
+                        open.push(row);
+                    } else {
+                        open.clear(); // Anything else is a barrier
+                    }
+                }
+            }
+        }
+
+        // Delete after the scan so the cursor is not invalidated by our own writes
+        for (int i = 0; i < doomed.size(); i += policy.chunkSize()) {
+            removed += removeRows(conn, doomed.subList(i, Math.min(doomed.size(), i + policy.chunkSize())));
+            Thread.sleep(PAUSE_BETWEEN_CHUNKS_MS);
+        }
+        return removed;
+    }
+
+    // --- Helpers ---
+
+    private long removeRows(Connection conn, List<Long> ids) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement archive = policy.archive()
+                ? conn.prepareStatement("INSERT OR IGNORE INTO operation_logs_archive SELECT * FROM operation_logs WHERE id = ?")
+                : null;
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM operation_logs WHERE id = ?")) {
+            for (long id : ids) {
+                if (archive != null) {
+                    archive.setLong(1, id);
+                    archive.addBatch();
+                }
+                delete.setLong(1, id);
+                delete.addBatch();
+            }
+            if (archive != null) archive.executeBatch();
+            delete.executeBatch();
+            conn.commit();
+            return ids.size();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void readIds(PreparedStatement stmt, List<Long> ids) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+    }
+
+    private static List<String> structures(Connection conn) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DISTINCT structure FROM operation_logs")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    // Rows after the latest snapshot are needed to restore the structure
+    private static long snapshotBoundary(Connection conn, String structure) throws SQLException {
+        String sql = "SELECT MAX(log_id) FROM structure_snapshots WHERE structure = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, structure);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            return 0; // No snapshot table yet
+        }
+    }
+
+    private static void createArchiveTable(Connection conn) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS operation_logs_archive (
+                id INTEGER PRIMARY KEY,
+                timestamp DATETIME,
+                structure TEXT NOT NULL,
+                operation TEXT NOT NULL,
+                value TEXT
+            );
+            """;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    private static long freePages(Connection conn) throws SQLException {
+        return pragmaLong(conn, "PRAGMA freelist_count");
+    }
+
+    /**
+     * Switches a file created without auto_vacuum = INCREMENTAL (by an older build, or the default profile)
+     * over to it. The setting only sticks after a full VACUUM, which rewrites the file once and
+     * holds the write lock while it does. If a writer is busy the VACUUM fails and the next run retries.
+     */
+    private static boolean convertToIncremental(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            stmt.execute("VACUUM");
+        } catch (SQLException e) {
+            System.err.println("Log retention could not enable incremental vacuum yet: " + e.getMessage());
+            return false;
+        }
+        return pragmaLong(conn, "PRAGMA auto_vacuum") == 2;
+    }
+
+    // Returns free pages to the OS a few at a time; needs auto_vacuum = INCREMENTAL
+    private static void incrementalVacuum(Connection conn) throws SQLException, InterruptedException {
+        long free = pragmaLong(conn, "PRAGMA freelist_count");
+        while (free > 0) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA incremental_vacuum(" + VACUUM_PAGES_PER_STEP + ")");
+            }
+            long left = pragmaLong(conn, "PRAGMA freelist_count");
+            if (left >= free) break; // Another connection holds a lock, try again next run
+            free = left;
+            Thread.sleep(PAUSE_BETWEEN_CHUNKS_MS);
+        }
+    }
+
+    private static long pragmaLong(Connection conn, String pragma) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(pragma)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.visualizer.database;
+
+/**
+ * A row read back from the operation_logs table.
+ * @param id        The row id, increasing in the order operations were logged.
+ * @param timestamp The UTC time the row was written, formatted as "yyyy-MM-dd HH:mm:ss".
+ */
+public record LoggedOperation(long id, String timestamp, String structure, String operation, String value) {
+}
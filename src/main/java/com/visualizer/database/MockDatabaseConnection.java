@@ -12,6 +12,11 @@ public class MockDatabaseConnection implements DatabaseInterface {
         System.out.println("[MOCK DB]: " + sql);
     }
 
+    @Override
+    public void logOperation(String structure, String operation, String value) {
+        System.out.println("[MOCK DB]: " + structure + " " + operation + (value != null ? " " + value : ""));
+    }
+
     @Override
     public void close() {
         System.out.println("Mock Database Closed.");
@@ -0,0 +1,20 @@
+package com.visualizer.database;
+
+/**
+ * Discards every write. Used when a model must run without logging,
+ * e.g. while it is being rebuilt from the operation log.
+ */
+public class NoOpDatabaseConnection implements DatabaseInterface {
+
+    @Override
+    public void executeUpdate(String sql) {
+    }
+
+    @Override
+    public void logOperation(String structure, String operation, String value) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
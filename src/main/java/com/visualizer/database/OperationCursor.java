@@ -0,0 +1,32 @@
+package com.visualizer.database;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Forward-only stream of logged operations. Rows are fetched lazily,
+ * so iterating a large log keeps memory use constant. Must be closed.
+ */
+public interface OperationCursor extends Iterator<LoggedOperation>, AutoCloseable {
+
+    @Override
+    void close();
+
+    static OperationCursor empty() {
+        return new OperationCursor() {
+            @Override
+            public boolean hasNext() {
+                return false;
+            }
+
+            @Override
+            public LoggedOperation next() {
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
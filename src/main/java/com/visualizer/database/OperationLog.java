@@ -0,0 +1,10 @@
+package com.visualizer.database;
+
+/**
+ * A single row destined for the operation_logs table.
+ * @param structure The data structure that was changed (e.g. "Stack").
+ * @param operation The operation name (e.g. "Push").
+ * @param value     The operation argument or result, may be null.
+ */
+public record OperationLog(String structure, String operation, String value) implements PendingWrite {
+}
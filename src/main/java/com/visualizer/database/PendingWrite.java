@@ -0,0 +1,8 @@
+package com.visualizer.database;
+
+/**
+ * Anything AsyncDatabaseConnection can queue for its writer thread.
+ * Writes are applied in the order they were queued.
+ */
+interface PendingWrite {
+}
@@ -0,0 +1,29 @@
+package com.visualizer.database;
+
+import java.time.Duration;
+
+/**
+ * Rules LogRetentionJob applies to operation_logs.
+ * Rows newer than a structure's latest snapshot are never removed by age or row count,
+ * so a restore always has the tail it needs.
+ * @param maxAge              Rows older than this are removed, or null to keep rows of any age.
+ * @param maxRowsPerStructure Only the newest rows per structure are kept, or 0 for no limit.
+ * @param collapseCancellingPairs Remove Push/Pop and AddFirst/RemoveFirst (etc.) pairs that undo each other.
+ * @param archive             Copy removed rows to operation_logs_archive instead of discarding them.
+ * @param chunkSize           Rows handled per transaction, keeps each lock on the file short.
+ */
+public record RetentionPolicy(Duration maxAge, int maxRowsPerStructure, boolean collapseCancellingPairs,
+                              boolean archive, int chunkSize) {
+
+    public static final RetentionPolicy DEFAULT =
+            new RetentionPolicy(Duration.ofDays(30), 100_000, true, false, 500);
+
+    public RetentionPolicy {
+        if (maxRowsPerStructure < 0) {
+            throw new IllegalArgumentException("Row limit cannot be negative.");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1.");
+        }
+    }
+}
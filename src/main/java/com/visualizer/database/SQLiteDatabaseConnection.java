@@ -2,18 +2,38 @@ package com.visualizer.database;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SQLiteDatabaseConnection implements DatabaseInterface {
 
+    private static final String INSERT_LOG_SQL =
+            "INSERT INTO operation_logs (structure, operation, value) VALUES (?, ?, ?)";
+    private static final int CURSOR_FETCH_SIZE = 1000;
+    private static final int SNAPSHOTS_KEPT_PER_STRUCTURE = 2;
+
+    private final String url;
+
     private Connection conn;
+    private Connection readConn; // Separate connection so cursors never block the writer
+    private PreparedStatement insertLogStmt; // Prepared once, reused for every log row
+    private final SQLiteProfile profile;
 
     public SQLiteDatabaseConnection(String dbFilePath) {
+        this(dbFilePath, SQLiteProfile.DEFAULT);
+    }
+
+    public SQLiteDatabaseConnection(String dbFilePath, SQLiteProfile profile) {
+        this.profile = profile;
+        this.url = "jdbc:sqlite:" + dbFilePath;
         try {
-            String url = "jdbc:sqlite:" + dbFilePath;
             conn = DriverManager.getConnection(url);
             System.out.println("Connected to SQLite database: " + dbFilePath);
+            applyProfile();
             initializeDatabase();
         } catch (SQLException e) {
             System.err.println("Database connection error: " + e.getMessage());
@@ -21,6 +41,24 @@ public class SQLiteDatabaseConnection implements DatabaseInterface {
         }
     }
 
+    // Pragmas must run before any table is touched so the journal mode takes effect
+    private void applyProfile() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (profile.incrementalVacuum()) {
+                stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            }
+            stmt.execute("PRAGMA journal_mode = " + profile.journalMode().name());
+            stmt.execute("PRAGMA synchronous = " + profile.synchronous().name());
+            if (profile.cacheSizeKib() > 0) {
+                // A negative cache_size is interpreted as KiB rather than pages
+                stmt.execute("PRAGMA cache_size = -" + profile.cacheSizeKib());
+            }
+            if (profile.mmapSizeBytes() > 0) {
+                stmt.execute("PRAGMA mmap_size = " + profile.mmapSizeBytes());
+            }
+        }
+    }
+
     private void initializeDatabase() {
         String createTableSQL = """
             CREATE TABLE IF NOT EXISTS operation_logs (
@@ -32,6 +70,24 @@ public class SQLiteDatabaseConnection implements DatabaseInterface {
             );
             """;
         executeUpdate(createTableSQL);
+
+        // log_id is the last operation_logs row the snapshot covers; restore replays rows after it
+        String createSnapshotTableSQL = """
+            CREATE TABLE IF NOT EXISTS structure_snapshots (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                timestamp DATETIME DEFAULT CURRENT_TIMESTAMP,
+                structure TEXT NOT NULL,
+                log_id INTEGER NOT NULL,
+                data BLOB NOT NULL
+            );
+            """;
+        executeUpdate(createSnapshotTableSQL);
+        executeUpdate("CREATE INDEX IF NOT EXISTS idx_structure_snapshots_structure ON structure_snapshots (structure, log_id)");
+
+        if (profile.createIndexes()) {
+            executeUpdate("CREATE INDEX IF NOT EXISTS idx_operation_logs_structure_time ON operation_logs (structure, timestamp)");
+            executeUpdate("CREATE INDEX IF NOT EXISTS idx_operation_logs_operation ON operation_logs (operation)");
+        }
     }
 
     @Override
@@ -47,9 +103,227 @@ public class SQLiteDatabaseConnection implements DatabaseInterface {
         }
     }
 
+    @Override
+    public void logOperation(String structure, String operation, String value) {
+        PreparedStatement stmt = getInsertLogStatement();
+        if (stmt == null) return;
+        try {
+            bindLog(stmt, structure, operation, value);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            System.err.println("SQL log error: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void logOperations(List<OperationLog> entries) {
+        PreparedStatement stmt = getInsertLogStatement();
+        if (stmt == null) throw new IllegalStateException("Log batch not written, database not connected.");
+        try {
+            conn.setAutoCommit(false);
+            for (OperationLog entry : entries) {
+                bindLog(stmt, entry.structure(), entry.operation(), entry.value());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            rollbackQuietly();
+            // Rethrown so a batching caller can count the entries as lost
+            throw new IllegalStateException("SQL log batch error: " + e.getMessage(), e);
+        } finally {
+            restoreAutoCommit();
+        }
+    }
+
+    private PreparedStatement getInsertLogStatement() {
+        if (conn == null) {
+            System.err.println("Cannot log operation, database not connected.");
+            return null;
+        }
+        if (insertLogStmt == null) {
+            try {
+                insertLogStmt = conn.prepareStatement(INSERT_LOG_SQL);
+            } catch (SQLException e) {
+                System.err.println("Could not prepare log statement: " + e.getMessage());
+            }
+        }
+        return insertLogStmt;
+    }
+
+    private static void bindLog(PreparedStatement stmt, String structure, String operation, String value) throws SQLException {
+        stmt.setString(1, structure);
+        stmt.setString(2, operation);
+        stmt.setString(3, value); // setString(null) binds SQL NULL
+    }
+
+    @Override
+    public void saveSnapshot(String structure, byte[] data) {
+        if (conn == null) {
+            System.err.println("Cannot save snapshot, database not connected.");
+            return;
+        }
+        String insertSQL = """
+            INSERT INTO structure_snapshots (structure, log_id, data)
+            VALUES (?, (SELECT COALESCE(MAX(id), 0) FROM operation_logs WHERE structure = ?), ?)
+            """;
+        String pruneSQL = """
+            DELETE FROM structure_snapshots WHERE structure = ? AND id NOT IN
+                (SELECT id FROM structure_snapshots WHERE structure = ? ORDER BY id DESC LIMIT ?)
+            """;
+        try (PreparedStatement insert = conn.prepareStatement(insertSQL);
+             PreparedStatement prune = conn.prepareStatement(pruneSQL)) {
+            conn.setAutoCommit(false);
+            insert.setString(1, structure);
+            insert.setString(2, structure);
+            insert.setBytes(3, data);
+            insert.executeUpdate();
+
+            // Older snapshots are never read again
+            prune.setString(1, structure);
+            prune.setString(2, structure);
+            prune.setInt(3, SNAPSHOTS_KEPT_PER_STRUCTURE);
+            prune.executeUpdate();
+            conn.commit();
+        } catch (SQLException e) {
+            System.err.println("Error saving snapshot: " + e.getMessage());
+            rollbackQuietly();
+        } finally {
+            restoreAutoCommit();
+        }
+    }
+
+    @Override
+    public StructureSnapshot loadLatestSnapshot(String structure) {
+        Connection reader = getReadConnection();
+        if (reader == null) return null;
+        String sql = "SELECT log_id, structure, timestamp, data FROM structure_snapshots WHERE structure = ? ORDER BY log_id DESC, id DESC LIMIT 1";
+        try (PreparedStatement stmt = reader.prepareStatement(sql)) {
+            stmt.setString(1, structure);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new StructureSnapshot(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBytes(4));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading snapshot: " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public List<LoggedOperation> queryOperations(LogQuery query, int limit) {
+        List<LoggedOperation> page = new ArrayList<>();
+        Connection reader = getReadConnection();
+        if (reader == null) return page;
+        try (PreparedStatement stmt = prepareQuery(reader, query, limit);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                page.add(new LoggedOperation(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading operation logs: " + e.getMessage());
+        }
+        return page;
+    }
+
+    @Override
+    public OperationCursor openCursor(LogQuery query) {
+        Connection reader = getReadConnection();
+        if (reader == null) return OperationCursor.empty();
+        try {
+            PreparedStatement stmt = prepareQuery(reader, query, -1);
+            stmt.setFetchSize(CURSOR_FETCH_SIZE);
+            return new SQLiteOperationCursor(stmt);
+        } catch (SQLException e) {
+            System.err.println("Error opening log cursor: " + e.getMessage());
+            return OperationCursor.empty();
+        }
+    }
+
+    // Keyset pagination on id, so later pages cost the same as the first one
+    private static PreparedStatement prepareQuery(Connection reader, LogQuery query, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id, timestamp, structure, operation, value FROM operation_logs WHERE id > ?");
+        if (query.structure() != null) sql.append(" AND structure = ?");
+        if (query.from() != null) sql.append(" AND timestamp >= ?");
+        if (query.to() != null) sql.append(" AND timestamp < ?");
+        sql.append(" ORDER BY id");
+        if (limit >= 0) sql.append(" LIMIT ?");
+
+        PreparedStatement stmt = reader.prepareStatement(sql.toString());
+        int i = 1;
+        stmt.setLong(i++, query.afterId());
+        if (query.structure() != null) stmt.setString(i++, query.structure());
+        if (query.from() != null) stmt.setString(i++, query.from().format(LogQuery.TIMESTAMP_FORMAT));
+        if (query.to() != null) stmt.setString(i++, query.to().format(LogQuery.TIMESTAMP_FORMAT));
+        if (limit >= 0) stmt.setInt(i, limit);
+        return stmt;
+    }
+
+    private Connection getReadConnection() {
+        if (conn == null) {
+            System.err.println("Cannot read operation logs, database not connected.");
+            return null;
+        }
+        if (readConn == null) {
+            try {
+                readConn = DriverManager.getConnection(url);
+            } catch (SQLException e) {
+                System.err.println("Could not open read connection: " + e.getMessage());
+                readConn = null;
+            }
+        }
+        return readConn;
+    }
+
+    @Override
+    public void executeBatch(List<String> statements) {
+        if (conn == null) {
+            System.err.println("Cannot execute batch, database not connected.");
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            for (String sql : statements) {
+                stmt.addBatch(sql);
+            }
+            stmt.executeBatch();
+            conn.commit();
+        } catch (SQLException e) {
+            System.err.println("SQL batch error: " + e.getMessage());
+            rollbackQuietly();
+        } finally {
+            restoreAutoCommit();
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            System.err.println("Rollback failed: " + e.getMessage());
+        }
+    }
+
+    private void restoreAutoCommit() {
+        try {
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("Could not restore auto-commit: " + e.getMessage());
+        }
+    }
+
     @Override
     public void close() {
         try {
+            if (insertLogStmt != null) {
+                insertLogStmt.close();
+                insertLogStmt = null;
+            }
+            if (readConn != null) {
+                readConn.close();
+                readConn = null;
+            }
             if (conn != null) {
                 conn.close();
                 System.out.println("SQLite connection closed.");
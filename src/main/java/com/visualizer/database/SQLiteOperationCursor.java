@@ -0,0 +1,57 @@
+package com.visualizer.database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+/**
+ * OperationCursor over an open JDBC ResultSet. Closes the statement when done.
+ */
+class SQLiteOperationCursor implements OperationCursor {
+
+    private final PreparedStatement stmt;
+    private final ResultSet rs;
+    private LoggedOperation next;
+    private boolean done;
+
+    SQLiteOperationCursor(PreparedStatement stmt) throws SQLException {
+        this.stmt = stmt;
+        this.rs = stmt.executeQuery();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        if (done) return false;
+        try {
+            if (rs.next()) {
+                next = new LoggedOperation(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+                return true;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading operation logs: " + e.getMessage());
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public LoggedOperation next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        LoggedOperation current = next;
+        next = null;
+        return current;
+    }
+
+    @Override
+    public void close() {
+        if (done) return;
+        done = true;
+        try {
+            stmt.close(); // Also closes the result set
+        } catch (SQLException e) {
+            System.err.println("Error closing log cursor: " + e.getMessage());
+        }
+    }
+}
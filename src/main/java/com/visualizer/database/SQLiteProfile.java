@@ -0,0 +1,40 @@
+package com.visualizer.database;
+
+/**
+ * Startup settings applied by SQLiteDatabaseConnection right after it connects.
+ * @param journalMode   Value for PRAGMA journal_mode.
+ * @param synchronous   Value for PRAGMA synchronous.
+ * @param cacheSizeKib  Page cache size in KiB (0 keeps the SQLite default).
+ * @param mmapSizeBytes Memory-mapped I/O window in bytes (0 disables it).
+ * @param createIndexes Whether to index operation_logs for log review queries.
+ * @param incrementalVacuum Whether a new database file is created with auto_vacuum = INCREMENTAL, so freed
+ *                          pages can be returned to the OS. LogRetentionJob converts other files on its first run.
+ */
+public record SQLiteProfile(JournalMode journalMode, Synchronous synchronous,
+                            int cacheSizeKib, long mmapSizeBytes, boolean createIndexes,
+                            boolean incrementalVacuum) {
+
+    public enum JournalMode { DELETE, TRUNCATE, PERSIST, MEMORY, WAL, OFF }
+
+    public enum Synchronous { OFF, NORMAL, FULL, EXTRA }
+
+    /** SQLite's own defaults: rollback journal, fsync on every commit, no indexes. */
+    public static final SQLiteProfile DEFAULT =
+            new SQLiteProfile(JournalMode.DELETE, Synchronous.FULL, 0, 0, false, false);
+
+    /**
+     * Write-ahead logging with synchronous=NORMAL is still crash-safe, but only
+     * syncs at checkpoints instead of on every commit.
+     */
+    public static final SQLiteProfile PERFORMANCE =
+            new SQLiteProfile(JournalMode.WAL, Synchronous.NORMAL, 16 * 1024, 256L * 1024 * 1024, true, true);
+
+    public SQLiteProfile {
+        if (journalMode == null || synchronous == null) {
+            throw new IllegalArgumentException("Journal mode and synchronous level are required.");
+        }
+        if (cacheSizeKib < 0 || mmapSizeBytes < 0) {
+            throw new IllegalArgumentException("Cache and mmap sizes cannot be negative.");
+        }
+    }
+}
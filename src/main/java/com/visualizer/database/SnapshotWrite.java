@@ -0,0 +1,8 @@
+package com.visualizer.database;
+
+/**
+ * A queued structure_snapshots row. It is written after every log record queued
+ * before it, so the snapshot always matches the log position it is stamped with.
+ */
+record SnapshotWrite(String structure, byte[] data) implements PendingWrite {
+}
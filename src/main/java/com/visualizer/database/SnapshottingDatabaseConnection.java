@@ -0,0 +1,123 @@
+package com.visualizer.database;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Wraps another DatabaseInterface and takes a snapshot of a model every
+ * N operations it logs, using the source the model passes along with each operation.
+ * Restoring then only has to replay the operations logged after the latest snapshot.
+ *
+ * Counting is per model instance, so two open tabs of the same structure never snapshot each other,
+ * and each snapshot is stamped with the operation that caused it. Counters are held weakly by their
+ * source, so a model whose tab was closed is not kept alive here.
+ *
+ * Sources are called on the thread that logs the operation, which is the thread that owns the model.
+ * Encoding costs about as much as the snapshot is long, so N grows with the previous snapshot and
+ * a large structure is encoded rarely enough that each operation pays a bounded share.
+ */
+public class SnapshottingDatabaseConnection implements DatabaseInterface {
+
+    public static final int DEFAULT_OPERATIONS_PER_SNAPSHOT = 500;
+    // Snapshot bytes each logged operation may account for before the next snapshot is due
+    static final int BYTES_PER_OPERATION = 16;
+
+    private final DatabaseInterface delegate;
+    private final int operationsPerSnapshot;
+    private final Map<Supplier<byte[]>, Interval> intervals = new WeakHashMap<>();
+
+    // Progress of one model towards its next snapshot
+    private static final class Interval {
+        int since;
+        int until;
+
+        Interval(int until) {
+            this.until = until;
+        }
+    }
+
+    public SnapshottingDatabaseConnection(DatabaseInterface delegate) {
+        this(delegate, DEFAULT_OPERATIONS_PER_SNAPSHOT);
+    }
+
+    public SnapshottingDatabaseConnection(DatabaseInterface delegate, int operationsPerSnapshot) {
+        if (operationsPerSnapshot < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be at least 1 operation.");
+        }
+        this.delegate = delegate;
+        this.operationsPerSnapshot = operationsPerSnapshot;
+    }
+
+    @Override
+    public void logOperation(String structure, String operation, String value) {
+        delegate.logOperation(structure, operation, value);
+    }
+
+    // Called right after the model applied the operation, so the source sees the matching state.
+    // Synchronized so the snapshot is queued directly behind the row it is stamped with.
+    @Override
+    public synchronized void logOperation(String structure, String operation, String value,
+                                          Supplier<byte[]> snapshot) {
+        delegate.logOperation(structure, operation, value);
+
+        Interval interval = intervals.computeIfAbsent(snapshot, s -> new Interval(operationsPerSnapshot));
+        if (++interval.since >= interval.until) {
+            interval.since = 0;
+            byte[] data;
+            try {
+                data = snapshot.get();
+            } catch (RuntimeException e) {
+                // The operation itself is already applied and logged; restoring just replays further back
+                System.err.println("Skipped " + structure + " snapshot: " + e.getMessage());
+                return;
+            }
+            interval.until = Math.max(operationsPerSnapshot, data.length / BYTES_PER_OPERATION);
+            saveSnapshot(structure, data);
+        }
+    }
+
+    @Override
+    public void logOperations(List<OperationLog> entries) {
+        delegate.logOperations(entries);
+    }
+
+    @Override
+    public void saveSnapshot(String structure, byte[] data) {
+        delegate.saveSnapshot(structure, data);
+    }
+
+    @Override
+    public StructureSnapshot loadLatestSnapshot(String structure) {
+        return delegate.loadLatestSnapshot(structure);
+    }
+
+    @Override
+    public void executeUpdate(String sql) {
+        delegate.executeUpdate(sql);
+    }
+
+    @Override
+    public void executeBatch(List<String> statements) {
+        delegate.executeBatch(statements);
+    }
+
+    @Override
+    public List<LoggedOperation> queryOperations(LogQuery query, int limit) {
+        return delegate.queryOperations(query, limit);
+    }
+
+    @Override
+    public OperationCursor openCursor(LogQuery query) {
+        return delegate.openCursor(query);
+    }
+
+    // No final snapshots: close runs on the shutdown hook, which must not read the models.
+    // Restoring replays at most one interval of operations, which costs about as much as a snapshot.
+    @Override
+    public synchronized void close() {
+        intervals.clear();
+        delegate.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.visualizer.database;
+
+/**
+ * A stored snapshot of one structure.
+ * @param logId     Id of the last operation_logs row for the structure that the snapshot includes.
+ *                  Replaying rows with a larger id brings the snapshot up to date.
+ * @param timestamp The UTC time the snapshot was written.
+ * @param data      The encoded structure state.
+ */
+public record StructureSnapshot(long logId, String structure, String timestamp, byte[] data) {
+}
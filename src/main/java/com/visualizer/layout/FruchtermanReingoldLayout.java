@@ -0,0 +1,120 @@
+package com.visualizer.layout;
+
+import java.util.Arrays;
+
+/**
+ * Fruchterman-Reingold force-directed layout. Every pair of nodes repels (k^2 / d), every
+ * edge attracts (d^2 / k), and the step size is capped by a temperature that cools each
+ * iteration. Repulsion uses a Barnes-Hut quadtree, so an iteration is O(n log n + e)
+ * instead of O(n^2).
+ */
+public class FruchtermanReingoldLayout implements LayoutAlgorithm {
+
+    public static final double DEFAULT_THETA = 0.9;
+
+    private static final double COOLING = 0.95;
+    private static final double MIN_TEMPERATURE = 0.5;
+    private static final double REHEAT_TEMPERATURE = 10; // Enough to fit new nodes in without scrambling the rest
+    private static final double GRAVITY = 0.02; // Keeps disconnected parts from drifting off screen
+    private static final double MARGIN = 25;
+
+    private final double theta;
+    private final QuadTree tree = new QuadTree();
+    private final double[] force = new double[2];
+    private double[] dispX = new double[0];
+    private double[] dispY = new double[0];
+    private double temperature = Double.NaN; // Set from the canvas size on the first step
+
+    public FruchtermanReingoldLayout() {
+        this(DEFAULT_THETA);
+    }
+
+    /**
+     * @param theta Barnes-Hut accuracy: 0 is exact, larger values are faster and coarser.
+     */
+    public FruchtermanReingoldLayout(double theta) {
+        if (theta < 0) {
+            throw new IllegalArgumentException("Theta cannot be negative.");
+        }
+        this.theta = theta;
+    }
+
+    @Override
+    public void reheat() {
+        if (!Double.isNaN(temperature)) temperature = Math.max(temperature, REHEAT_TEMPERATURE);
+    }
+
+    @Override
+    public boolean step(LayoutGraph graph) {
+        int n = graph.nodeCount();
+        if (n == 0) return false;
+        double width = Math.max(graph.width(), 2 * MARGIN + 1);
+        double height = Math.max(graph.height(), 2 * MARGIN + 1);
+        if (Double.isNaN(temperature)) temperature = Math.min(width, height) / 10;
+        if (temperature < MIN_TEMPERATURE) return false;
+
+        double[] x = graph.x();
+        double[] y = graph.y();
+        boolean[] pinned = graph.pinned();
+        double k = Math.sqrt(width * height / n);
+        double k2 = k * k;
+
+        if (dispX.length < n) {
+            dispX = new double[x.length];
+            dispY = new double[x.length];
+        }
+        Arrays.fill(dispX, 0, n, 0);
+        Arrays.fill(dispY, 0, n, 0);
+
+        // Repulsion between all nodes
+        tree.build(x, y, n);
+        for (int i = 0; i < n; i++) {
+            if (pinned[i]) continue;
+            force[0] = 0;
+            force[1] = 0;
+            tree.repulsion(i, x, y, theta, k2, force);
+            dispX[i] += force[0];
+            dispY[i] += force[1];
+        }
+
+        // Attraction along edges
+        int[] from = graph.edgeFrom();
+        int[] to = graph.edgeTo();
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            int u = from[e];
+            int v = to[e];
+            if (u == v) continue;
+            double dx = x[u] - x[v];
+            double dy = y[u] - y[v];
+            double dist = Math.sqrt(dx * dx + dy * dy);
+            if (dist < 1e-9) continue;
+            double f = dist / k; // (d^2 / k) along the unit vector (dx, dy) / d
+            dispX[u] -= dx * f;
+            dispY[u] -= dy * f;
+            dispX[v] += dx * f;
+            dispY[v] += dy * f;
+        }
+
+        // Move, limited by the temperature and kept inside the canvas
+        double cx = width / 2;
+        double cy = height / 2;
+        for (int i = 0; i < n; i++) {
+            if (pinned[i]) continue;
+            double dx = dispX[i] + GRAVITY * (cx - x[i]);
+            double dy = dispY[i] + GRAVITY * (cy - y[i]);
+            double len = Math.sqrt(dx * dx + dy * dy);
+            if (len > 1e-9) {
+                double scale = Math.min(len, temperature) / len;
+                x[i] = clamp(x[i] + dx * scale, MARGIN, width - MARGIN);
+                y[i] = clamp(y[i] + dy * scale, MARGIN, height - MARGIN);
+            }
+        }
+
+        temperature *= COOLING;
+        return true;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,19 @@
+package com.visualizer.layout;
+
+/**
+ * One iteration of a graph layout. Implementations are driven by LayoutEngine on its
+ * own thread, so they never touch JavaFX and may keep scratch state between steps.
+ */
+public interface LayoutAlgorithm {
+
+    /**
+     * Moves the unpinned nodes of the graph by one iteration.
+     * @return false once the layout has settled and further steps would not change much.
+     */
+    boolean step(LayoutGraph graph);
+
+    /**
+     * Called after the graph changed, so a cooled-down layout starts moving again.
+     */
+    void reheat();
+}
@@ -0,0 +1,192 @@
+package com.visualizer.layout;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a LayoutAlgorithm on a background thread. Changes to the graph are queued and
+ * applied between iterations, and the current positions are published as an immutable
+ * Snapshot at most once per frame, for the UI to pick up on its next pulse.
+ * The mutating methods hand out node numbers and must all be called from one thread (the FX thread).
+ */
+public class LayoutEngine implements AutoCloseable {
+
+    /**
+     * Positions after some iteration. Node i is the i-th node added since the last clear().
+     * @param generation Incremented by every clear(), so stale snapshots can be recognised.
+     */
+    public record Snapshot(long generation, long iteration, int nodeCount, double[] x, double[] y) {
+    }
+
+    private static final long PUBLISH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LayoutAlgorithm algorithm;
+    private final LayoutGraph graph;
+    private final Queue<Consumer<LayoutGraph>> commands = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean paused;
+    private volatile String failure; // Why the worker paused itself, or null
+    private volatile Snapshot latest;
+
+    // Caller side
+    private int nextNode;
+    private long callerGeneration;
+
+    // Worker side
+    private long generation;
+    private long iteration;
+
+    public LayoutEngine(LayoutAlgorithm algorithm, double width, double height) {
+        this.algorithm = algorithm;
+        this.graph = new LayoutGraph(width, height);
+        this.worker = new Thread(this::run, "graph-layout");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Adds a node at the given position and returns its number.
+     */
+    public int addNode(double x, double y) {
+        submit(g -> g.addNode(x, y));
+        return nextNode++;
+    }
+
+    public void addEdge(int from, int to) {
+        checkNode(from);
+        checkNode(to);
+        submit(g -> g.addEdge(from, to));
+    }
+
+    /**
+     * Fixes a node at a position; the layout arranges the other nodes around it.
+     */
+    public void pin(int node, double x, double y) {
+        checkNode(node);
+        submit(g -> g.pin(node, x, y));
+    }
+
+    public void unpin(int node) {
+        checkNode(node);
+        submit(g -> g.unpin(node));
+    }
+
+    // Bad numbers are rejected here, on the caller's thread, rather than in the worker
+    private void checkNode(int node) {
+        if (node < 0 || node >= nextNode) {
+            throw new IllegalArgumentException("Unknown layout node.");
+        }
+    }
+
+    public void setBounds(double width, double height) {
+        submit(g -> g.setBounds(width, height));
+    }
+
+    public void clear() {
+        nextNode = 0;
+        long next = ++callerGeneration;
+        submit(g -> {
+            g.clear();
+            generation = next;
+        });
+    }
+
+    /**
+     * Stops or resumes iterating; queued changes are still applied while paused.
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        this.failure = null;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Why iterating stopped on its own, or null. A failed step leaves the engine paused, since
+     * the same positions would fail again; the owner decides whether to resume or give up.
+     */
+    public String failure() {
+        return failure;
+    }
+
+    /**
+     * The most recently published positions, or null before the first iteration.
+     */
+    public Snapshot latest() {
+        return latest;
+    }
+
+    private void submit(Consumer<LayoutGraph> command) {
+        commands.add(command);
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        long lastPublish = 0;
+        boolean unpublished = false;
+        while (running) {
+            boolean changed = false;
+            Consumer<LayoutGraph> command;
+            while ((command = commands.poll()) != null) {
+                try {
+                    command.accept(graph);
+                } catch (RuntimeException e) {
+                    // One bad change must not end the worker, or the layout silently freezes
+                    System.err.println("Layout change failed: " + e.getMessage());
+                }
+                changed = true;
+            }
+            if (changed) {
+                algorithm.reheat();
+                unpublished = true;
+            }
+
+            boolean moved = false;
+            if (!paused) {
+                try {
+                    moved = algorithm.step(graph);
+                } catch (RuntimeException e) {
+                    System.err.println("Layout step failed: " + e.getMessage());
+                    paused = true;
+                    failure = String.valueOf(e.getMessage());
+                }
+            }
+            if (moved) {
+                iteration++;
+                unpublished = true;
+            }
+
+            long now = System.nanoTime();
+            if (unpublished && (!moved || now - lastPublish >= PUBLISH_INTERVAL_NANOS)) {
+                publish();
+                lastPublish = now;
+                unpublished = false;
+            }
+            if (!moved && commands.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void publish() {
+        int n = graph.nodeCount();
+        latest = new Snapshot(generation, iteration, n,
+                Arrays.copyOf(graph.x(), n), Arrays.copyOf(graph.y(), n));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.visualizer.layout;
+
+import java.util.Arrays;
+
+/**
+ * The graph as seen by a layout algorithm: nodes are numbered in the order they were added
+ * and positions live in flat arrays, so an iteration over thousands of nodes allocates nothing.
+ * Only the first nodeCount() / edgeCount() entries of the arrays are valid.
+ */
+public final class LayoutGraph {
+
+    private double width;
+    private double height;
+
+    private int nodeCount;
+    private double[] x = new double[16];
+    private double[] y = new double[16];
+    private boolean[] pinned = new boolean[16];
+
+    private int edgeCount;
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+
+    LayoutGraph(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    public int nodeCount() { return nodeCount; }
+    public int edgeCount() { return edgeCount; }
+    public double width() { return width; }
+    public double height() { return height; }
+
+    public double[] x() { return x; }
+    public double[] y() { return y; }
+    public boolean[] pinned() { return pinned; }
+    public int[] edgeFrom() { return edgeFrom; }
+    public int[] edgeTo() { return edgeTo; }
+
+    // --- Mutation, done by LayoutEngine only ---
+
+    void setBounds(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    void addNode(double px, double py) {
+        if (nodeCount == x.length) {
+            int capacity = x.length * 2;
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            pinned = Arrays.copyOf(pinned, capacity);
+        }
+        x[nodeCount] = px;
+        y[nodeCount] = py;
+        pinned[nodeCount] = false;
+        nodeCount++;
+    }
+
+    void addEdge(int from, int to) {
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+            edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeCount++;
+    }
+
+    void pin(int node, double px, double py) {
+        x[node] = px;
+        y[node] = py;
+        pinned[node] = true;
+    }
+
+    void unpin(int node) {
+        pinned[node] = false;
+    }
+
+    void clear() {
+        nodeCount = 0;
+        edgeCount = 0;
+    }
+}
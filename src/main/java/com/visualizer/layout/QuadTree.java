@@ -0,0 +1,167 @@
+package com.visualizer.layout;
+
+import java.util.Arrays;
+
+/**
+ * Barnes-Hut quadtree stored in flat arrays and rebuilt every iteration.
+ * Each cell keeps the number of bodies below it and the sum of their positions,
+ * so a distant cell can stand in for all of them when computing repulsion.
+ */
+final class QuadTree {
+
+    // Below this size, bodies are treated as one point instead of splitting forever
+    private static final double MIN_CELL_SIZE = 1e-3;
+
+    private int cellCount;
+    private double[] minX = new double[64];
+    private double[] minY = new double[64];
+    private double[] size = new double[64];
+    private double[] sumX = new double[64];
+    private double[] sumY = new double[64];
+    private int[] mass = new int[64];
+    private int[] firstChild = new int[64]; // -1 for a leaf; children are stored as four consecutive cells
+    private int[] body = new int[64]; // For a leaf: first body in it, or -1 if empty
+
+    private int[] stack = new int[64];
+
+    void build(double[] x, double[] y, int n) {
+        cellCount = 0;
+        if (n == 0) return;
+
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            x0 = Math.min(x0, x[i]);
+            y0 = Math.min(y0, y[i]);
+            x1 = Math.max(x1, x[i]);
+            y1 = Math.max(y1, y[i]);
+        }
+        newCell(x0, y0, Math.max(Math.max(x1 - x0, y1 - y0), MIN_CELL_SIZE) * 1.0001);
+
+        for (int i = 0; i < n; i++) {
+            insert(i, x, y);
+        }
+    }
+
+    private void insert(int b, double[] x, double[] y) {
+        int cell = 0;
+        while (true) {
+            mass[cell]++;
+            sumX[cell] += x[b];
+            sumY[cell] += y[b];
+
+            if (firstChild[cell] >= 0) {
+                cell = firstChild[cell] + quadrant(cell, x[b], y[b]);
+            } else if (mass[cell] == 1) {
+                body[cell] = b;
+                return;
+            } else if (size[cell] < MIN_CELL_SIZE) {
+                return; // Coincident bodies share the leaf
+            } else {
+                // Split the leaf and push its current body one level down
+                int old = body[cell];
+                body[cell] = -1;
+                double half = size[cell] / 2;
+                int first = cellCount;
+                newCell(minX[cell], minY[cell], half);
+                newCell(minX[cell] + half, minY[cell], half);
+                newCell(minX[cell], minY[cell] + half, half);
+                newCell(minX[cell] + half, minY[cell] + half, half);
+                firstChild[cell] = first;
+
+                int oldChild = first + quadrant(cell, x[old], y[old]);
+                mass[oldChild] = mass[cell] - 1;
+                sumX[oldChild] = sumX[cell] - x[b];
+                sumY[oldChild] = sumY[cell] - y[b];
+                body[oldChild] = old;
+
+                cell = first + quadrant(cell, x[b], y[b]);
+            }
+        }
+    }
+
+    /**
+     * Adds the repulsion felt by body i to out[0], out[1] (force ~ strength / distance).
+     * Cells that look smaller than theta from body i are treated as a single point.
+     */
+    void repulsion(int i, double[] x, double[] y, double theta, double strength, double[] out) {
+        if (cellCount == 0) return;
+        double fx = 0, fy = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int cell = stack[--top];
+            int m = mass[cell];
+            if (m == 0) continue;
+
+            double cx = sumX[cell];
+            double cy = sumY[cell];
+            boolean leaf = firstChild[cell] < 0;
+            if (leaf && body[cell] == i) {
+                // Leave ourselves out of our own leaf
+                m--;
+                if (m == 0) continue;
+                cx -= x[i];
+                cy -= y[i];
+            }
+            cx /= m;
+            cy /= m;
+
+            double dx = x[i] - cx;
+            double dy = y[i] - cy;
+            double dist2 = dx * dx + dy * dy;
+
+            if (leaf || size[cell] * size[cell] < theta * theta * dist2) {
+                if (dist2 < 1e-9) {
+                    // Same spot: push apart in a direction that differs per body
+                    dx = Math.cos(i);
+                    dy = Math.sin(i);
+                    dist2 = 1;
+                }
+                double f = strength * m / dist2; // (strength / d) along the unit vector (dx, dy) / d
+                fx += dx * f;
+                fy += dy * f;
+            } else {
+                if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                int first = firstChild[cell];
+                stack[top++] = first;
+                stack[top++] = first + 1;
+                stack[top++] = first + 2;
+                stack[top++] = first + 3;
+            }
+        }
+        out[0] += fx;
+        out[1] += fy;
+    }
+
+    private int quadrant(int cell, double px, double py) {
+        double half = size[cell] / 2;
+        int q = 0;
+        if (px >= minX[cell] + half) q |= 1;
+        if (py >= minY[cell] + half) q |= 2;
+        return q;
+    }
+
+    private void newCell(double x, double y, double cellSize) {
+        if (cellCount == mass.length) {
+            int capacity = cellCount * 2;
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            size = Arrays.copyOf(size, capacity);
+            sumX = Arrays.copyOf(sumX, capacity);
+            sumY = Arrays.copyOf(sumY, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            body = Arrays.copyOf(body, capacity);
+        }
+        minX[cellCount] = x;
+        minY[cellCount] = y;
+        size[cellCount] = cellSize;
+        sumX[cellCount] = 0;
+        sumY[cellCount] = 0;
+        mass[cellCount] = 0;
+        firstChild[cellCount] = -1;
+        body[cellCount] = -1;
+        cellCount++;
+    }
+}
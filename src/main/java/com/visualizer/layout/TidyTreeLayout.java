@@ -0,0 +1,192 @@
+package com.visualizer.layout;
+
+import com.visualizer.model.BinaryTreeModel;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Reingold-Tilford tidy drawing of a binary tree in O(n).
+ * Each subtree is laid out once, bottom up; a parent pushes its two subtrees apart by walking
+ * only the facing contours down to the depth of the shorter one, and threads the shorter
+ * contour onto the longer so its parents never walk the same nodes again. Parents sit midway
+ * between their children and a lone child sits half a separation to its side, so left and
+ * right stay visible. Runs without recursion, so degenerate trees are fine.
+ */
+public final class TidyTreeLayout {
+
+    /**
+     * Node positions in pre-order: x is in the same unit as the separation and starts at 0,
+     * depth counts levels from the root. Truncated is set when levels below the depth limit were left out.
+     */
+    public record Result(BinaryTreeModel.Node[] nodes, double[] x, int[] depth, double width, int height,
+                         boolean truncated) {
+    }
+
+    private static final Result EMPTY = new Result(new BinaryTreeModel.Node[0], new double[0], new int[0], 0, 0, false);
+
+    private TidyTreeLayout() {
+    }
+
+    /**
+     * @param separation Smallest horizontal distance between two nodes on the same level.
+     */
+    public static Result compute(BinaryTreeModel.Node root, double separation) {
+        return compute(root, separation, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Lays out only the top maxDepth levels, as if the tree ended there; the cost depends on
+     * the nodes laid out, not on the size of the whole tree.
+     */
+    public static Result compute(BinaryTreeModel.Node root, double separation, int maxDepth) {
+        if (root == null || maxDepth < 1) return EMPTY;
+
+        // Number the nodes in pre-order; children always come after their parent
+        int n = 0;
+        BinaryTreeModel.Node[] nodes = new BinaryTreeModel.Node[16];
+        int[] parent = new int[16];
+        Deque<BinaryTreeModel.Node> stack = new ArrayDeque<>();
+        Deque<Integer> parents = new ArrayDeque<>();
+        int[] level = new int[16];
+        boolean truncated = false;
+        stack.push(root);
+        parents.push(-1);
+        while (!stack.isEmpty()) {
+            BinaryTreeModel.Node node = stack.pop();
+            if (n == nodes.length) {
+                nodes = Arrays.copyOf(nodes, n * 2);
+                parent = Arrays.copyOf(parent, n * 2);
+                level = Arrays.copyOf(level, n * 2);
+            }
+            nodes[n] = node;
+            parent[n] = parents.pop();
+            level[n] = parent[n] < 0 ? 0 : level[parent[n]] + 1;
+            if (level[n] + 1 >= maxDepth) {
+                truncated |= node.left != null || node.right != null;
+                n++;
+                continue;
+            }
+            if (node.right != null) {
+                stack.push(node.right);
+                parents.push(n);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+                parents.push(n);
+            }
+            n++;
+        }
+
+        int[] left = new int[n];
+        int[] right = new int[n];
+        Arrays.fill(left, -1);
+        Arrays.fill(right, -1);
+        for (int i = 1; i < n; i++) {
+            if (nodes[parent[i]].left == nodes[i]) left[parent[i]] = i;
+            else right[parent[i]] = i;
+        }
+
+        double[] offset = new double[n];       // x relative to the parent
+        int[] levels = new int[n];             // Depth of the subtree below the node
+        int[] nextLeft = new int[n];           // Next node down the left contour, child or thread
+        int[] nextRight = new int[n];
+        double[] nextLeftDx = new double[n];   // x of that node minus x of this one
+        double[] nextRightDx = new double[n];
+        int[] leftBottom = new int[n];         // Deepest node of each contour and its x relative to the subtree root
+        int[] rightBottom = new int[n];
+        double[] leftBottomX = new double[n];
+        double[] rightBottomX = new double[n];
+        double half = separation / 2;
+
+        // Reverse pre-order visits every child before its parent
+        for (int v = n - 1; v >= 0; v--) {
+            int l = left[v];
+            int r = right[v];
+            if (l < 0 && r < 0) {
+                nextLeft[v] = -1;
+                nextRight[v] = -1;
+                leftBottom[v] = v;
+                rightBottom[v] = v;
+                continue;
+            }
+            if (r < 0 || l < 0) {
+                int child = l >= 0 ? l : r;
+                double dx = l >= 0 ? -half : half;
+                offset[child] = dx;
+                levels[v] = levels[child] + 1;
+                nextLeft[v] = child;
+                nextRight[v] = child;
+                nextLeftDx[v] = dx;
+                nextRightDx[v] = dx;
+                leftBottom[v] = leftBottom[child];
+                leftBottomX[v] = leftBottomX[child] + dx;
+                rightBottom[v] = rightBottom[child];
+                rightBottomX[v] = rightBottomX[child] + dx;
+                continue;
+            }
+
+            // Distance between the two subtree roots that keeps every level apart
+            double gap = separation;
+            int lc = l;
+            int rc = r;
+            double lx = 0;
+            double rx = 0;
+            while (lc >= 0 && rc >= 0) {
+                gap = Math.max(gap, separation + lx - rx);
+                lx += nextRightDx[lc];
+                lc = nextRight[lc];
+                rx += nextLeftDx[rc];
+                rc = nextLeft[rc];
+            }
+
+            // Thread the shorter outer contour onto the longer subtree
+            if (rc >= 0) {
+                int bottom = leftBottom[l];
+                nextLeft[bottom] = rc;
+                nextLeftDx[bottom] = gap + rx - leftBottomX[l];
+            } else if (lc >= 0) {
+                int bottom = rightBottom[r];
+                nextRight[bottom] = lc;
+                nextRightDx[bottom] = lx - gap - rightBottomX[r];
+            }
+
+            offset[l] = -gap / 2;
+            offset[r] = gap / 2;
+            levels[v] = Math.max(levels[l], levels[r]) + 1;
+            nextLeft[v] = l;
+            nextRight[v] = r;
+            nextLeftDx[v] = offset[l];
+            nextRightDx[v] = offset[r];
+            if (levels[r] > levels[l]) {
+                leftBottom[v] = leftBottom[r];
+                leftBottomX[v] = leftBottomX[r] + offset[r];
+            } else {
+                leftBottom[v] = leftBottom[l];
+                leftBottomX[v] = leftBottomX[l] + offset[l];
+            }
+            if (levels[l] > levels[r]) {
+                rightBottom[v] = rightBottom[l];
+                rightBottomX[v] = rightBottomX[l] + offset[l];
+            } else {
+                rightBottom[v] = rightBottom[r];
+                rightBottomX[v] = rightBottomX[r] + offset[r];
+            }
+        }
+
+        // Pre-order turns the offsets into absolute positions
+        double[] x = new double[n];
+        double min = 0;
+        double max = 0;
+        for (int i = 1; i < n; i++) {
+            x[i] = x[parent[i]] + offset[i];
+            min = Math.min(min, x[i]);
+            max = Math.max(max, x[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            x[i] -= min;
+        }
+        return new Result(Arrays.copyOf(nodes, n), x, Arrays.copyOf(level, n), max - min, levels[0] + 1, truncated);
+    }
+}
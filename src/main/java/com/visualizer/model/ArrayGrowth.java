@@ -0,0 +1,23 @@
+package com.visualizer.model;
+
+/**
+ * Growth policy for the array-backed models: double the array, but never past the
+ * structure's capacity or the largest array the VM can allocate.
+ */
+final class ArrayGrowth {
+
+    // Some VMs reserve a few header words in an array
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private ArrayGrowth() {
+    }
+
+    static int nextLength(int current, int capacity) {
+        long doubled = Math.max(1L, 2L * current);
+        int limit = Math.min(capacity, MAX_ARRAY_LENGTH);
+        if (current >= limit) {
+            throw new IllegalStateException("Cannot hold more than " + limit + " elements.");
+        }
+        return (int) Math.min(doubled, limit);
+    }
+}
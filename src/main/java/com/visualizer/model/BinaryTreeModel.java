@@ -1,35 +1,85 @@
 package com.visualizer.model;
 
 import com.visualizer.database.DatabaseInterface;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class BinaryTreeModel {
+public class BinaryTreeModel implements Iterable<BinaryTreeModel.Node> {
+    private static final String STRUCTURE = "BST";
+
+    /**
+     * How the tree keeps itself balanced. AVL and RED_BLACK keep insert and search O(log n)
+     * whatever the insert order; RED_BLACK is the left-leaning variant, which needs fewer cases.
+     */
+    public enum Balance {NONE, AVL, RED_BLACK}
+
+    public enum Direction {LEFT, RIGHT}
+
+    public enum Order {IN_ORDER, PRE_ORDER, POST_ORDER}
+
+    /**
+     * One rotation done while rebalancing: pivot moves down in the given direction and
+     * its child (the one with value {@code risen}) takes its place.
+     */
+    public record Rotation(Direction direction, int pivot, int risen) {
+    }
 
     // Inner class for the node
     public static class Node {
         public int value;
         public Node left;
         public Node right;
+        int height = 1; // Balanced modes only
+        int count = 1;  // Nodes in this subtree, for rank and select
+        boolean red;    // RED_BLACK only
 
         public Node(int value) {
             this.value = value;
             left = null;
             right = null;
         }
+
+        public boolean isRed() {
+            return red;
+        }
+
+        // This node and all its descendants
+        public int subtreeSize() {
+            return count;
+        }
     }
 
     private Node root;
-    private final DatabaseInterface db;
+    private final ModelListeners listeners = new ModelListeners();
+    private final OperationLogListener log; // Subscribed first, so operations are logged before views react
     private final int capacity;
+    private final Balance balance;
     private int size;
+    private int modCount; // Lets iterators detect changes made while they are walking
+    private final List<Rotation> lastRotations = new ArrayList<>();
 
     public BinaryTreeModel(int capacity, DatabaseInterface db) {
+        this(capacity, db, Balance.NONE);
+    }
+
+    public BinaryTreeModel(int capacity, DatabaseInterface db, Balance balance) {
         this.root = null;
-        this.db = db;
+        this.log = new OperationLogListener(STRUCTURE, db, () -> SnapshotCodec.encode(this));
+        listeners.add(log);
         this.capacity = capacity;
+        this.balance = balance;
         this.size = 0;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('BST', 'Create', 'Capacity " + capacity + "')");
+        listeners.operation(Operation.CREATE, "Capacity " + capacity + (balance == Balance.NONE ? "" : ", " + balance));
     }
 
     public boolean isFull() {
@@ -40,96 +90,711 @@ public class BinaryTreeModel {
         return root == null;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
     public Node getRoot() {
         return root;
     }
 
+    public Balance getBalance() {
+        return balance;
+    }
+
+    /**
+     * Rotations done by the last insert or delete, in the order they happened. Empty for NONE.
+     */
+    public List<Rotation> getLastRotations() {
+        return Collections.unmodifiableList(lastRotations);
+    }
+
+    // Level by level so a degenerate tree cannot overflow the stack
+    public int getHeight() {
+        int height = 0;
+        Deque<Node> level = new ArrayDeque<>();
+        if (root != null) level.add(root);
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                Node node = level.poll();
+                if (node.left != null) level.add(node.left);
+                if (node.right != null) level.add(node.right);
+            }
+        }
+        return height;
+    }
+
+    public void addListener(ModelListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Rotations are collected while the tree is restructured and announced once it is consistent again
+    private void fireRotations() {
+        for (int i = 0; i < lastRotations.size(); i++) {
+            listeners.rotated(lastRotations.get(i));
+        }
+    }
+
     // --- Insert ---
     public void insert(int value) {
         if (isFull()) throw new IllegalStateException("Tree is full. Cannot insert " + value);
 
-        root = insertRecursive(root, value);
+        lastRotations.clear();
+        switch (balance) {
+            case NONE -> root = insertPlain(root, value);
+            case AVL -> root = insertAvl(root, value);
+            case RED_BLACK -> {
+                root = insertRedBlack(root, value);
+                root.red = false;
+            }
+        }
         size++;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('BST', 'Insert', '%d')", value));
+        modCount++;
+        listeners.operation(Operation.INSERT, String.valueOf(value));
+        listeners.keyInserted(value);
+        fireRotations();
     }
 
-    private Node insertRecursive(Node current, int value) {
-        if (current == null) {
+    // Iterative so a degenerate tree cannot overflow the stack; the balanced modes recurse at most O(log n) deep
+    private Node insertPlain(Node root, int value) {
+        Node leaf = new Node(value);
+        if (root == null) {
+            return leaf;
+        }
+
+        Node parent = null;
+        for (Node current = root; current != null; ) {
+            if (value == current.value) {
+                // value already exists
+                throw new IllegalArgumentException("Value " + value + " already exists in the tree.");
+            }
+            parent = current;
+            current = value < current.value ? current.left : current.right;
+        }
+
+        // Only now that the insert cannot fail, grow the subtree counts along the path
+        for (Node current = root; current != parent; current = value < current.value ? current.left : current.right) {
+            current.count++;
+        }
+        parent.count++;
+        if (value < parent.value) {
+            parent.left = leaf;
+        } else {
+            parent.right = leaf;
+        }
+        return root;
+    }
+
+    // Rebalancing happens on the way back up, so a duplicate leaves the tree untouched
+    private Node insertAvl(Node node, int value) {
+        if (node == null) {
             return new Node(value);
         }
 
-        if (value < current.value) {
-            current.left = insertRecursive(current.left, value);
-        } else if (value > current.value) {
-            current.right = insertRecursive(current.right, value);
+        if (value < node.value) {
+            node.left = insertAvl(node.left, value);
+        } else if (value > node.value) {
+            node.right = insertAvl(node.right, value);
         } else {
-            // value already exists
             throw new IllegalArgumentException("Value " + value + " already exists in the tree.");
         }
-        return current;
+        return rebalanceAvl(node);
     }
 
-    // --- Search ---
-    public boolean search(int value) {
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('BST', 'Search', '%d')", value));
-        return searchRecursive(root, value);
+    private Node insertRedBlack(Node node, int value) {
+        if (node == null) {
+            Node leaf = new Node(value);
+            leaf.red = true;
+            return leaf;
+        }
+
+        if (value < node.value) {
+            node.left = insertRedBlack(node.left, value);
+        } else if (value > node.value) {
+            node.right = insertRedBlack(node.right, value);
+        } else {
+            throw new IllegalArgumentException("Value " + value + " already exists in the tree.");
+        }
+        return fixUpRedBlack(node);
     }
 
-    private boolean searchRecursive(Node current, int value) {
-        if (current == null) {
-            return false;
+    // --- Delete ---
+    /**
+     * Removes a value. A node with two children takes the value of its in-order successor,
+     * which is then removed from the right subtree instead.
+     * @return The nodes visited to find the value and then its successor, before anything was changed.
+     */
+    public List<Node> delete(int value) {
+        List<Node> path = new ArrayList<>();
+        Node target = descend(value, path);
+        if (target == null) {
+            throw new IllegalArgumentException("Value " + value + " is not in the tree.");
         }
-        if (value == current.value) {
-            return true;
+        if (target.left != null && target.right != null) {
+            for (Node n = target.right; n != null; n = n.left) {
+                path.add(n);
+            }
         }
-        return value < current.value
-                ? searchRecursive(current.left, value)
-                : searchRecursive(current.right, value);
+
+        lastRotations.clear();
+        switch (balance) {
+            case NONE -> deletePlain(value);
+            case AVL -> root = deleteAvl(root, value);
+            case RED_BLACK -> {
+                if (!isRed(root.left) && !isRed(root.right)) root.red = true;
+                root = deleteRedBlack(root, value);
+                if (root != null) root.red = false;
+            }
+        }
+        size--;
+        modCount++;
+        listeners.operation(Operation.DELETE, String.valueOf(value));
+        listeners.keyDeleted(value);
+        fireRotations();
+        return path;
     }
 
-    // --- Traversal ---
-    public List<Node> getInOrderTraversal() {
-        List<Node> nodes = new ArrayList<>();
-        inOrder(root, nodes);
-        return nodes;
+    // The caller has checked that the value is present
+    private void deletePlain(int value) {
+        Node parent = null;
+        Node target = root;
+        while (target.value != value) {
+            target.count--;
+            parent = target;
+            target = value < target.value ? target.left : target.right;
+        }
+
+        if (target.left != null && target.right != null) {
+            target.count--;
+            Node successorParent = target;
+            Node successor = target.right;
+            while (successor.left != null) {
+                successor.count--;
+                successorParent = successor;
+                successor = successor.left;
+            }
+            target.value = successor.value;
+            if (successorParent == target) {
+                successorParent.right = successor.right;
+            } else {
+                successorParent.left = successor.right;
+            }
+            return;
+        }
+
+        Node child = target.left != null ? target.left : target.right;
+        if (parent == null) {
+            root = child;
+        } else if (parent.left == target) {
+            parent.left = child;
+        } else {
+            parent.right = child;
+        }
     }
-    private void inOrder(Node node, List<Node> nodes) {
-        if (node != null) {
-            inOrder(node.left, nodes);
-            nodes.add(node);
-            inOrder(node.right, nodes);
+
+    private Node deleteAvl(Node node, int value) {
+        if (value < node.value) {
+            node.left = deleteAvl(node.left, value);
+        } else if (value > node.value) {
+            node.right = deleteAvl(node.right, value);
+        } else {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            int successor = minimum(node.right).value;
+            node.value = successor;
+            node.right = deleteAvl(node.right, successor);
         }
+        return rebalanceAvl(node);
     }
 
-    public List<Node> getPreOrderTraversal() {
+    // Left-leaning red-black delete: on the way down, red links are pushed towards the side being
+    // searched so the node finally removed is never a lone black one
+    private Node deleteRedBlack(Node node, int value) {
+        if (value < node.value) {
+            if (!isRed(node.left) && !isRed(node.left.left)) node = moveRedLeft(node);
+            node.left = deleteRedBlack(node.left, value);
+        } else {
+            if (isRed(node.left)) node = rotateRight(node);
+            if (value == node.value && node.right == null) return null;
+            if (!isRed(node.right) && !isRed(node.right.left)) node = moveRedRight(node);
+            if (value == node.value) {
+                node.value = minimum(node.right).value;
+                node.right = deleteMinRedBlack(node.right);
+            } else {
+                node.right = deleteRedBlack(node.right, value);
+            }
+        }
+        return fixUpRedBlack(node);
+    }
+
+    private Node deleteMinRedBlack(Node node) {
+        if (node.left == null) return null;
+        if (!isRed(node.left) && !isRed(node.left.left)) node = moveRedLeft(node);
+        node.left = deleteMinRedBlack(node.left);
+        return fixUpRedBlack(node);
+    }
+
+    private Node moveRedLeft(Node node) {
+        flipColours(node);
+        if (isRed(node.right.left)) {
+            node.right = rotateRight(node.right);
+            node = rotateLeft(node);
+            flipColours(node);
+        }
+        return node;
+    }
+
+    private Node moveRedRight(Node node) {
+        flipColours(node);
+        if (isRed(node.left.left)) {
+            node = rotateRight(node);
+            flipColours(node);
+        }
+        return node;
+    }
+
+    // --- Rebalancing ---
+    private Node rebalanceAvl(Node node) {
+        update(node);
+        int skew = skew(node);
+        if (skew > 1) {
+            if (skew(node.left) < 0) node.left = rotateLeft(node.left); // Left-right case
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (skew(node.right) > 0) node.right = rotateRight(node.right); // Right-left case
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    // Red links lean left, never two in a row, and a node with two red children splits
+    private Node fixUpRedBlack(Node node) {
+        if (isRed(node.right) && !isRed(node.left)) node = rotateLeft(node);
+        if (isRed(node.left) && isRed(node.left.left)) node = rotateRight(node);
+        if (isRed(node.left) && isRed(node.right)) flipColours(node);
+        update(node);
+        return node;
+    }
+
+    private Node rotateLeft(Node pivot) {
+        Node risen = pivot.right;
+        pivot.right = risen.left;
+        risen.left = pivot;
+        return rotated(Direction.LEFT, pivot, risen);
+    }
+
+    private Node rotateRight(Node pivot) {
+        Node risen = pivot.left;
+        pivot.left = risen.right;
+        risen.right = pivot;
+        return rotated(Direction.RIGHT, pivot, risen);
+    }
+
+    private Node rotated(Direction direction, Node pivot, Node risen) {
+        if (balance == Balance.RED_BLACK) {
+            risen.red = pivot.red;
+            pivot.red = true;
+        }
+        update(pivot);
+        update(risen);
+        lastRotations.add(new Rotation(direction, pivot.value, risen.value));
+        return risen;
+    }
+
+    private static void flipColours(Node node) {
+        node.red = !node.red;
+        node.left.red = !node.left.red;
+        node.right.red = !node.right.red;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int count(Node node) {
+        return node == null ? 0 : node.count;
+    }
+
+    private static int skew(Node node) {
+        return height(node.left) - height(node.right);
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.count = 1 + count(node.left) + count(node.right);
+    }
+
+    private static boolean isRed(Node node) {
+        return node != null && node.red;
+    }
+
+    private static Node minimum(Node node) {
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    // Follows the search path for value, adding each node to path; returns the match or null
+    private Node descend(int value, List<Node> path) {
+        Node current = root;
+        while (current != null) {
+            path.add(current);
+            if (value == current.value) return current;
+            current = value < current.value ? current.left : current.right;
+        }
+        return null;
+    }
+
+    // --- Ordered queries ---
+    // Each takes O(height) steps, so O(log n) in the balanced modes, and reports the nodes it visited
+
+    /**
+     * Result of an ordered query plus the nodes visited to answer it, in visiting order.
+     * The result is null when there is no answer, e.g. the floor of a value below the minimum.
+     */
+    public record Trace<T>(T result, List<Node> path) {
+    }
+
+    public Trace<Node> min() {
+        listeners.operation(Operation.MIN, null);
+        List<Node> path = new ArrayList<>();
+        Node current = root;
+        for (; current != null && current.left != null; current = current.left) {
+            path.add(current);
+        }
+        if (current != null) path.add(current);
+        return new Trace<>(current, path);
+    }
+
+    public Trace<Node> max() {
+        listeners.operation(Operation.MAX, null);
+        List<Node> path = new ArrayList<>();
+        Node current = root;
+        for (; current != null && current.right != null; current = current.right) {
+            path.add(current);
+        }
+        if (current != null) path.add(current);
+        return new Trace<>(current, path);
+    }
+
+    /**
+     * Largest value less than or equal to the given one.
+     */
+    public Trace<Node> floor(int value) {
+        listeners.operation(Operation.FLOOR, String.valueOf(value));
+        List<Node> path = new ArrayList<>();
+        Node best = null;
+        for (Node current = root; current != null; ) {
+            path.add(current);
+            if (value == current.value) return new Trace<>(current, path);
+            if (value < current.value) {
+                current = current.left;
+            } else {
+                best = current;
+                current = current.right;
+            }
+        }
+        return new Trace<>(best, path);
+    }
+
+    /**
+     * Smallest value greater than or equal to the given one.
+     */
+    public Trace<Node> ceiling(int value) {
+        listeners.operation(Operation.CEILING, String.valueOf(value));
+        List<Node> path = new ArrayList<>();
+        Node best = null;
+        for (Node current = root; current != null; ) {
+            path.add(current);
+            if (value == current.value) return new Trace<>(current, path);
+            if (value > current.value) {
+                current = current.right;
+            } else {
+                best = current;
+                current = current.left;
+            }
+        }
+        return new Trace<>(best, path);
+    }
+
+    /**
+     * Number of values in the tree that are smaller than the given one.
+     */
+    public Trace<Integer> rank(int value) {
+        listeners.operation(Operation.RANK, String.valueOf(value));
+        List<Node> path = new ArrayList<>();
+        return new Trace<>(countBelow(value, path), path);
+    }
+
+    /**
+     * The value with the given rank, i.e. the (rank + 1)-th smallest.
+     */
+    public Trace<Node> select(int rank) {
+        if (rank < 0 || rank >= size) {
+            throw new IllegalArgumentException("Rank " + rank + " is outside 0.." + (size - 1) + ".");
+        }
+        listeners.operation(Operation.SELECT, String.valueOf(rank));
+        List<Node> path = new ArrayList<>();
+        Node current = root;
+        while (true) {
+            path.add(current);
+            int smaller = count(current.left);
+            if (rank < smaller) {
+                current = current.left;
+            } else if (rank > smaller) {
+                rank -= smaller + 1;
+                current = current.right;
+            } else {
+                return new Trace<>(current, path);
+            }
+        }
+    }
+
+    /**
+     * Number of values between low and high inclusive, from two rank walks.
+     */
+    public Trace<Integer> rangeCount(int low, int high) {
+        listeners.operation(Operation.RANGE_COUNT, low + ".." + high);
+        List<Node> path = new ArrayList<>();
+        if (low > high) return new Trace<>(0, path);
+        int below = countBelow(low, path);
+        int upToHigh = countBelow(high, path);
+        if (descend(high, path) != null) upToHigh++;
+        return new Trace<>(upToHigh - below, path);
+    }
+
+    /**
+     * Values between low and high inclusive, smallest first.
+     * The path holds every node looked at, including those just outside the range.
+     */
+    public Trace<List<Node>> range(int low, int high) {
+        listeners.operation(Operation.RANGE, low + ".." + high);
+        List<Node> path = new ArrayList<>();
         List<Node> nodes = new ArrayList<>();
-        preOrder(root, nodes);
-        return nodes;
+        new RangeIterator(low, high, path).forEachRemaining(nodes::add);
+        return new Trace<>(nodes, path);
     }
-    private void preOrder(Node node, List<Node> nodes) {
-        if (node != null) {
-            nodes.add(node);
-            preOrder(node.left, nodes);
-            preOrder(node.right, nodes);
+
+    /**
+     * Lazily walks the values between low and high inclusive, smallest first, in O(log n + k).
+     */
+    public Iterator<Node> rangeIterator(int low, int high) {
+        listeners.operation(Operation.RANGE, low + ".." + high);
+        return new RangeIterator(low, high, null);
+    }
+
+    private int countBelow(int value, List<Node> path) {
+        int below = 0;
+        for (Node current = root; current != null; ) {
+            path.add(current);
+            if (value < current.value) {
+                current = current.left;
+            } else if (value > current.value) {
+                below += count(current.left) + 1;
+                current = current.right;
+            } else {
+                return below + count(current.left);
+            }
         }
+        return below;
+    }
+
+    // --- Search ---
+    public boolean search(int value) {
+        listeners.operation(Operation.SEARCH, String.valueOf(value));
+        Node current = root;
+        while (current != null && current.value != value) {
+            current = value < current.value ? current.left : current.right;
+        }
+        return current != null;
+    }
+
+    // --- Traversal ---
+    // The lists are filled from the lazy iterators, so no traversal recurses
+    public List<Node> getInOrderTraversal() {
+        return collect(Order.IN_ORDER);
+    }
+
+    public List<Node> getPreOrderTraversal() {
+        return collect(Order.PRE_ORDER);
     }
 
     public List<Node> getPostOrderTraversal() {
-        List<Node> nodes = new ArrayList<>();
-        postOrder(root, nodes);
+        return collect(Order.POST_ORDER);
+    }
+
+    private List<Node> collect(Order order) {
+        List<Node> nodes = new ArrayList<>(size);
+        iterator(order).forEachRemaining(nodes::add);
         return nodes;
     }
-    private void postOrder(Node node, List<Node> nodes) {
-        if (node != null) {
-            postOrder(node.left, nodes);
-            postOrder(node.right, nodes);
-            nodes.add(node);
+
+    /**
+     * In-order iterator, smallest value first.
+     */
+    @Override
+    public Iterator<Node> iterator() {
+        return iterator(Order.IN_ORDER);
+    }
+
+    /**
+     * Walks the tree lazily with an explicit stack no deeper than the tree, so even a degenerate
+     * tree of millions of nodes can be traversed. Fails fast if the tree changes underneath it.
+     */
+    public Iterator<Node> iterator(Order order) {
+        return switch (order) {
+            case IN_ORDER -> new InOrderIterator();
+            case PRE_ORDER -> new PreOrderIterator();
+            case POST_ORDER -> new PostOrderIterator();
+        };
+    }
+
+    public Stream<Node> stream(Order order) {
+        Spliterator<Node> spliterator = Spliterators.spliterator(iterator(order), size,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private abstract class TreeIterator implements Iterator<Node> {
+        final Deque<Node> stack = new ArrayDeque<>();
+        private final int expectedModCount = modCount;
+
+        final void checkForModification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+    }
+
+    private final class InOrderIterator extends TreeIterator {
+        InOrderIterator() {
+            pushLeftSpine(root);
+        }
+
+        @Override
+        public Node next() {
+            checkForModification();
+            if (stack.isEmpty()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            pushLeftSpine(node.right);
+            return node;
+        }
+
+        private void pushLeftSpine(Node node) {
+            for (; node != null; node = node.left) {
+                stack.push(node);
+            }
+        }
+    }
+
+    private final class PreOrderIterator extends TreeIterator {
+        PreOrderIterator() {
+            if (root != null) stack.push(root);
+        }
+
+        @Override
+        public Node next() {
+            checkForModification();
+            if (stack.isEmpty()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            if (node.right != null) stack.push(node.right);
+            if (node.left != null) stack.push(node.left);
+            return node;
+        }
+    }
+
+    // The stack holds the path to the next node; a node is emitted once its right subtree is done
+    private final class PostOrderIterator extends TreeIterator {
+        PostOrderIterator() {
+            descend(root);
+        }
+
+        @Override
+        public Node next() {
+            checkForModification();
+            if (stack.isEmpty()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            Node parent = stack.peek();
+            if (parent != null && parent.left == node) {
+                descend(parent.right);
+            }
+            return node;
+        }
+
+        // Down to the first leaf in post-order, preferring left children
+        private void descend(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left != null ? node.left : node.right;
+            }
+        }
+    }
+
+    // Skips every subtree that lies wholly below low and stops at the first value above high
+    private final class RangeIterator extends TreeIterator {
+        private final int low;
+        private final int high;
+        private final List<Node> visited; // Null unless a path trace is wanted
+
+        RangeIterator(int low, int high, List<Node> visited) {
+            this.low = low;
+            this.high = high;
+            this.visited = visited;
+            pushFrom(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && stack.peek().value <= high;
+        }
+
+        @Override
+        public Node next() {
+            checkForModification();
+            if (!hasNext()) throw new NoSuchElementException();
+            Node node = stack.pop();
+            if (node.value < high) pushFrom(node.right);
+            return node;
+        }
+
+        private void pushFrom(Node node) {
+            while (node != null) {
+                if (visited != null) visited.add(node);
+                if (node.value < low) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
         }
     }
 
     public void reset() {
         root = null;
         size = 0;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('BST', 'Reset', NULL)");
+        modCount++;
+        lastRotations.clear();
+        listeners.operation(Operation.RESET, null);
+        listeners.cleared();
+    }
+
+    // Lets OperationLogReplayer rebuild the model without logging, then hand it the real database
+    void attachDatabase(DatabaseInterface db) {
+        log.attach(db);
     }
-}
\ No newline at end of file
+}
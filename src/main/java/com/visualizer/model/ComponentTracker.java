@@ -0,0 +1,335 @@
+package com.visualizer.model;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the strongly connected components of a growing graph, and a topological order
+ * of the components, up to date as nodes and edges are added.
+ * <p>
+ * Components are union-find sets (inserting edges only ever merges them). Each component
+ * root has a position in the topological order; an edge that agrees with the order costs
+ * O(1). Otherwise, as in Pearce-Kelly, only components positioned between the two ends are
+ * searched: those reachable from the head (F) and those reaching the tail (B). If the tail
+ * is in F the edge closed a cycle and F &cap; B collapses into one component. The searched
+ * components are then reordered within their own positions as B, merged, F.
+ * <p>
+ * Each search gives up after MAX_SEARCH_WORK edges so one insert can never stall the caller.
+ * The tracker is then stale: further edges are only recorded, and the owner rebuilds it
+ * with one Tarjan pass (initialise) the next time it is queried.
+ */
+final class ComponentTracker {
+
+    static final int MAX_SEARCH_WORK = 10_000;
+
+    private int nodeCount;
+    private int[][] out = new int[16][];
+    private int[][] in = new int[16][];
+    private int[] outSize = new int[16];
+    private int[] inSize = new int[16];
+
+    private int[] parent = new int[16]; // Union-find; a root's id is the component id
+    private int[] ord = new int[16]; // Position in the topological order, for roots
+    private int[] nextMember = new int[16]; // Circular list of the members of each component
+    private int[] size = new int[16];
+    private boolean[] selfLoop = new boolean[16];
+    private int nextOrd;
+    private int cyclicComponents; // More than one member, or a self-loop
+    private boolean stale;
+
+    // Search scratch: a component is marked when mark[c] == epoch
+    private int[] forwardMark = new int[16];
+    private int[] backwardMark = new int[16];
+    private int epoch;
+    private int[] stack = new int[16];
+
+    int addNode() {
+        int v = nodeCount++;
+        if (v == parent.length) grow(v * 2);
+        out[v] = new int[2];
+        in[v] = new int[2];
+        outSize[v] = 0;
+        inSize[v] = 0;
+        parent[v] = v;
+        ord[v] = nextOrd++;
+        nextMember[v] = v;
+        size[v] = 1;
+        selfLoop[v] = false;
+        return v;
+    }
+
+    /**
+     * Adds the edge u -> v and returns true if it merged components.
+     */
+    boolean addEdge(int u, int v) {
+        appendEdge(u, v);
+        if (stale) return false;
+
+        int cu = find(u);
+        int cv = find(v);
+        if (cu == cv) {
+            if (u == v && size[cu] == 1 && !selfLoop[cu]) {
+                selfLoop[cu] = true;
+                cyclicComponents++;
+            }
+            return false;
+        }
+        if (ord[cu] < ord[cv]) return false; // Already in order
+
+        int lower = ord[cv];
+        int upper = ord[cu];
+        epoch++;
+        int[] forward = search(cv, upper, true);
+        int[] backward = forward == null ? null : search(cu, lower, false);
+        if (backward == null) {
+            stale = true;
+            return false;
+        }
+        boolean cycle = forwardMark[cu] == epoch;
+
+        if (!cycle) {
+            reorder(backward, new int[0], forward);
+            return false;
+        }
+
+        // Components both reachable from cv and reaching cu form the new cycle
+        int[] merged = filter(forward, true);
+        reorder(filter(backward, false), merged, filter(forward, false));
+        mergeAll(merged);
+        return true;
+    }
+
+    /**
+     * Records the edge without updating components; follow a bulk load with initialise().
+     */
+    void appendEdge(int u, int v) {
+        append(out, outSize, u, v);
+        append(in, inSize, v, u);
+    }
+
+    /**
+     * True once a search ran over budget; the components are out of date until initialise() is called.
+     */
+    boolean isStale() {
+        return stale;
+    }
+
+    int componentOf(int v) {
+        return find(v);
+    }
+
+    int componentSize(int v) {
+        return size[find(v)];
+    }
+
+    boolean hasCycle() {
+        return cyclicComponents > 0;
+    }
+
+    /**
+     * Members of v's component, v first.
+     */
+    int[] members(int v) {
+        int root = find(v);
+        int[] result = new int[size[root]];
+        int m = v;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = m;
+            m = nextMember[m];
+        }
+        return result;
+    }
+
+    /**
+     * All nodes with components in topological order; nodes of one component stay together.
+     */
+    int[] topologicalOrder() {
+        long[] keys = new long[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            keys[v] = ((long) ord[find(v)] << 32) | v;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[nodeCount];
+        for (int i = 0; i < nodeCount; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Loads components and their order from a full Tarjan run, numbered in completion order.
+     */
+    void initialise(int[] component, int componentCount) {
+        for (int v = 0; v < nodeCount; v++) {
+            parent[v] = v;
+            nextMember[v] = v;
+            size[v] = 1;
+            selfLoop[v] = false;
+        }
+        stale = false;
+        int[] root = new int[componentCount];
+        Arrays.fill(root, -1);
+        for (int v = 0; v < nodeCount; v++) {
+            int c = component[v];
+            if (root[c] < 0) {
+                root[c] = v;
+                continue;
+            }
+            // Splice v into the member list of root[c]
+            int r = root[c];
+            parent[v] = r;
+            nextMember[v] = nextMember[r];
+            nextMember[r] = v;
+            size[r]++;
+        }
+        cyclicComponents = 0;
+        for (int c = 0; c < componentCount; c++) {
+            int r = root[c];
+            if (r < 0) continue;
+            ord[r] = componentCount - 1 - c; // Tarjan completes sinks first
+            if (size[r] > 1) cyclicComponents++;
+        }
+        nextOrd = componentCount;
+        for (int v = 0; v < nodeCount; v++) {
+            for (int i = 0; i < outSize[v]; i++) {
+                if (out[v][i] == v && size[find(v)] == 1 && !selfLoop[v]) {
+                    selfLoop[v] = true;
+                    cyclicComponents++;
+                }
+            }
+        }
+    }
+
+    // --- Internals ---
+
+    /**
+     * Depth-first search over components from start, forwards (positions up to bound) or
+     * backwards (positions down to bound). Marks and returns every component found,
+     * or null if that took more than MAX_SEARCH_WORK edges.
+     */
+    private int[] search(int start, int bound, boolean forwards) {
+        int[] mark = forwards ? forwardMark : backwardMark;
+        int[][] edges = forwards ? out : in;
+        int[] edgeCount = forwards ? outSize : inSize;
+
+        int[] found = new int[8];
+        int foundCount = 0;
+        int work = 0;
+        int top = 0;
+        mark[start] = epoch;
+        found[foundCount++] = start;
+        stack[top++] = start;
+        while (top > 0) {
+            int c = stack[--top];
+            int m = c;
+            do {
+                work += edgeCount[m] + 1;
+                if (work > MAX_SEARCH_WORK) return null;
+                for (int i = 0; i < edgeCount[m]; i++) {
+                    int d = find(edges[m][i]);
+                    if (mark[d] == epoch) continue;
+                    if (forwards ? ord[d] > bound : ord[d] < bound) continue;
+                    mark[d] = epoch;
+                    if (foundCount == found.length) found = Arrays.copyOf(found, foundCount * 2);
+                    found[foundCount++] = d;
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = d;
+                }
+                m = nextMember[m];
+            } while (m != c);
+        }
+        return Arrays.copyOf(found, foundCount);
+    }
+
+    // Components of the list that are (or are not) also in the other search's result
+    private int[] filter(int[] components, boolean inBoth) {
+        int[] result = new int[components.length];
+        int count = 0;
+        for (int c : components) {
+            boolean both = forwardMark[c] == epoch && backwardMark[c] == epoch;
+            if (both == inBoth) result[count++] = c;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Gives the components the positions they held between them, in the order
+     * first, middle, last, each group keeping its current relative order.
+     */
+    private void reorder(int[] first, int[] middle, int[] last) {
+        int total = first.length + middle.length + last.length;
+        int[] slots = new int[total];
+        int[] sequence = new int[total];
+        int k = 0;
+        for (int[] group : new int[][]{first, middle, last}) {
+            sortByOrd(group);
+            for (int c : group) {
+                slots[k] = ord[c];
+                sequence[k++] = c;
+            }
+        }
+        Arrays.sort(slots);
+        for (int i = 0; i < total; i++) {
+            ord[sequence[i]] = slots[i];
+        }
+    }
+
+    private void sortByOrd(int[] components) {
+        long[] keys = new long[components.length];
+        for (int i = 0; i < components.length; i++) {
+            keys[i] = ((long) ord[components[i]] << 32) | components[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < components.length; i++) {
+            components[i] = (int) keys[i];
+        }
+    }
+
+    // The merged components sit next to each other in the order, so the new root can take any of their positions
+    private void mergeAll(int[] components) {
+        int root = components[0];
+        for (int c : components) {
+            if (size[c] > 1 || selfLoop[c]) cyclicComponents--;
+            if (size[c] > size[root]) root = c;
+        }
+        int position = ord[root];
+        for (int c : components) position = Math.min(position, ord[c]);
+        for (int c : components) {
+            if (c == root) continue;
+            parent[c] = root;
+            int after = nextMember[root];
+            nextMember[root] = nextMember[c];
+            nextMember[c] = after;
+            size[root] += size[c];
+        }
+        ord[root] = position;
+        selfLoop[root] = false;
+        cyclicComponents++;
+    }
+
+    private int find(int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]]; // Path halving
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static void append(int[][] lists, int[] sizes, int v, int value) {
+        if (sizes[v] == lists[v].length) lists[v] = Arrays.copyOf(lists[v], sizes[v] * 2);
+        lists[v][sizes[v]++] = value;
+    }
+
+    private void grow(int capacity) {
+        out = Arrays.copyOf(out, capacity);
+        in = Arrays.copyOf(in, capacity);
+        outSize = Arrays.copyOf(outSize, capacity);
+        inSize = Arrays.copyOf(inSize, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        ord = Arrays.copyOf(ord, capacity);
+        nextMember = Arrays.copyOf(nextMember, capacity);
+        size = Arrays.copyOf(size, capacity);
+        selfLoop = Arrays.copyOf(selfLoop, capacity);
+        forwardMark = Arrays.copyOf(forwardMark, capacity);
+        backwardMark = Arrays.copyOf(backwardMark, capacity);
+    }
+}
@@ -0,0 +1,168 @@
+package com.visualizer.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Read-only compressed sparse row view of a directed graph over dense int node indexes.
+ * The neighbours of node v are targets[offsets[v]] .. targets[offsets[v + 1] - 1], in the
+ * order the edges were added, and weights[i] is the weight of the edge to targets[i].
+ * Traversals use a BitSet and int arrays, so they neither box nodes nor hash them.
+ */
+final class CsrGraph {
+
+    final int nodeCount;
+    final int[] offsets;
+    final int[] targets;
+    final double[] weights;
+
+    private CsrGraph(int nodeCount, int[] offsets, int[] targets, double[] weights) {
+        this.nodeCount = nodeCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the view with a counting sort on from[], which keeps edges of the same source in insertion order.
+     */
+    static CsrGraph build(int nodeCount, int[] from, int[] to, double[] weight, int edgeCount) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[from[e] + 1]++;
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = weight[e];
+        }
+        return new CsrGraph(nodeCount, offsets, targets, weights);
+    }
+
+    int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * Nodes reachable from start in breadth-first order.
+     */
+    int[] bfs(int start) {
+        int[] queue = new int[nodeCount]; // Every node is queued at most once, so the queue doubles as the result
+        BitSet visited = new BitSet(nodeCount);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited.set(start);
+        while (head < tail) {
+            int current = queue[head++];
+            for (int i = offsets[current], end = offsets[current + 1]; i < end; i++) {
+                int neighbour = targets[i];
+                if (!visited.get(neighbour)) {
+                    visited.set(neighbour);
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Nodes reachable from start in depth-first order, visiting neighbours in insertion order.
+     */
+    int[] dfs(int start) {
+        int[] order = new int[nodeCount];
+        int visitedCount = 0;
+        BitSet visited = new BitSet(nodeCount);
+        int[] stack = new int[Math.max(16, nodeCount)];
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int current = stack[--top];
+            if (visited.get(current)) continue;
+            visited.set(current);
+            order[visitedCount++] = current;
+
+            // Push neighbours in reverse so the first one is visited first
+            for (int i = offsets[current + 1] - 1; i >= offsets[current]; i--) {
+                int neighbour = targets[i];
+                if (!visited.get(neighbour)) {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                    stack[top++] = neighbour;
+                }
+            }
+        }
+        return Arrays.copyOf(order, visitedCount);
+    }
+
+    /**
+     * Tarjan's strongly connected components, with explicit stacks instead of recursion so
+     * long paths cannot overflow the thread stack. Components are numbered in the order they
+     * complete, which is a reverse topological order of the condensation.
+     * @return The component number of every node; the count is max + 1.
+     */
+    int[] stronglyConnectedComponents() {
+        int[] component = new int[nodeCount];
+        int[] index = new int[nodeCount];
+        int[] low = new int[nodeCount];
+        Arrays.fill(index, -1);
+        BitSet onStack = new BitSet(nodeCount);
+        int[] sccStack = new int[nodeCount];
+        int sccTop = 0;
+        int[] callNode = new int[nodeCount];
+        int[] callEdge = new int[nodeCount]; // Next edge to look at for the node in the same call slot
+        int nextIndex = 0;
+        int nextComponent = 0;
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (index[root] >= 0) continue;
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = offsets[root];
+            index[root] = low[root] = nextIndex++;
+            sccStack[sccTop++] = root;
+            onStack.set(root);
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < offsets[v + 1]) {
+                    int w = targets[callEdge[depth]++];
+                    if (index[w] < 0) {
+                        // Descend into w
+                        index[w] = low[w] = nextIndex++;
+                        sccStack[sccTop++] = w;
+                        onStack.set(w);
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = offsets[w];
+                    } else if (onStack.get(w)) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // All edges of v done: close its component if it is a root, then return to the caller
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack.clear(w);
+                        component[w] = nextComponent;
+                    } while (w != v);
+                    nextComponent++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return component;
+    }
+}
@@ -2,12 +2,32 @@ package com.visualizer.model;
 
 import com.visualizer.database.DatabaseInterface;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class GraphModel {
+    private static final String STRUCTURE = "Graph";
+    public static final double DEFAULT_WEIGHT = 1;
+    static final String EDGE_ARROW = " -> "; // Separates the endpoints in logged edges
+
+    /**
+     * How edges are held in memory.
+     * OBJECTS keeps Edge objects and per-node lists, which the editor uses on every drag.
+     * COMPACT keeps only primitive arrays and builds Edge objects on request, for large graphs that are
+     * mostly traversed. GraphLoadBenchmark measures about 37 heap bytes per edge against about 102 for OBJECTS,
+     * short of a tenfold saving: the double weights, array growth slack and the CSR views built for
+     * traversal account for most of it.
+     */
+    public enum Storage { OBJECTS, COMPACT }
+
+    /**
+     * How bfs runs. Both produce the same visit order; PARALLEL pays off on graphs with many thousands of nodes.
+     */
+    public enum TraversalEngine { SEQUENTIAL, PARALLEL }
 
     // Node class
     public static class Node {
         public String id;
+        int index = -1; // Dense position in nodeList, set by addNode
         public Node(String id) { this.id = id; }
         @Override
         public boolean equals(Object obj) {
@@ -16,128 +36,458 @@ public class GraphModel {
             return id.equals(((Node) obj).id);
         }
         @Override
-        public int hashCode() { return Objects.hash(id); }
+        public int hashCode() { return id.hashCode(); }
     }
 
     // Edge class
     public static class Edge {
         public Node source;
         public Node destination;
+        public double weight = DEFAULT_WEIGHT;
         public Edge(Node source, Node destination) {
             this.source = source;
             this.destination = destination;
         }
+        public Edge(Node source, Node destination, double weight) {
+            this(source, destination);
+            this.weight = weight;
+        }
+        // Two edges are the same if they connect the same nodes, so a freshly built Edge works as a map key
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (obj == null || getClass() != obj.getClass()) return false;
+            Edge other = (Edge) obj;
+            return source.equals(other.source) && destination.equals(other.destination);
+        }
+        @Override
+        public int hashCode() { return 31 * source.hashCode() + destination.hashCode(); }
     }
 
+    private final Storage storage;
+
+    // Both storages: one Node instance per id, numbered densely in insertion order
+    private final Map<String, Node> nodesById = new HashMap<>();
+    private final List<Node> nodeList = new ArrayList<>();
+    private int[] edgeFrom = new int[16];
+    private int[] edgeTo = new int[16];
+    private double[] edgeWeight = new double[16];
+    private int edgeCount;
+    private int negativeEdges; // Dijkstra and A* refuse to run while this is non-zero
+    private final LongHashSet edgeKeys = new LongHashSet();
+    private CsrGraph csr; // Rebuilt on the first traversal after a change
+    private CsrGraph reverseCsr;
+    private ParallelBfs parallelBfs; // Keeps its reverse index between runs on the same CSR view
+    private ComponentTracker components; // Null unless component tracking is on
+
+    // OBJECTS only
     private final Map<Node, List<Node>> adjList = new HashMap<>();
     private final List<Edge> edges = new ArrayList<>();
-    private final DatabaseInterface db;
+    // Edges touching each node, so callers can update a node's edges in O(degree)
+    private final Map<Node, List<Edge>> outgoing = new HashMap<>();
+    private final Map<Node, List<Edge>> incoming = new HashMap<>();
+
+    private final ModelListeners listeners = new ModelListeners();
+    private final OperationLogListener log; // Subscribed first, so operations are logged before views react
 
     public GraphModel(DatabaseInterface db) {
-        this.db = db;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('Graph', 'Create', NULL)");
+        this(db, Storage.OBJECTS);
+    }
+
+    public GraphModel(DatabaseInterface db, Storage storage) {
+        this.log = new OperationLogListener(STRUCTURE, db, () -> SnapshotCodec.encode(this));
+        listeners.add(log);
+        this.storage = storage;
+        listeners.operation(Operation.CREATE, null);
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public void addListener(ModelListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
     }
 
     public void addNode(String id) {
-        Node newNode = new Node(id);
-        if (adjList.containsKey(newNode)) {
+        if (id.contains(EDGE_ARROW)) {
+            throw new IllegalArgumentException("Node ids cannot contain '" + EDGE_ARROW + "'.");
+        }
+        if (nodesById.containsKey(id)) {
             throw new IllegalArgumentException("Node " + id + " already exists.");
         }
-        adjList.put(newNode, new ArrayList<>());
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('Graph', 'AddNode', '%s')", id.replace("'", "''")));
+        Node newNode = new Node(id);
+        newNode.index = nodeList.size();
+        nodesById.put(id, newNode);
+        nodeList.add(newNode);
+        invalidateCsr();
+        if (components != null) components.addNode();
+        if (storage == Storage.OBJECTS) {
+            adjList.put(newNode, new ArrayList<>());
+            outgoing.put(newNode, new ArrayList<>());
+            incoming.put(newNode, new ArrayList<>());
+        }
+        listeners.operation(Operation.ADD_NODE, id);
+        listeners.nodeAdded(newNode);
     }
 
     public void addEdge(String sourceId, String destId) {
-        Node source = new Node(sourceId);
-        Node dest = new Node(destId);
+        addEdge(sourceId, destId, DEFAULT_WEIGHT);
+    }
+
+    public void addEdge(String sourceId, String destId, double weight) {
+        if (!Double.isFinite(weight)) {
+            throw new IllegalArgumentException("Edge weight must be a finite number.");
+        }
+        Node source = nodesById.get(sourceId);
+        Node dest = nodesById.get(destId);
 
-        if (!adjList.containsKey(source) || !adjList.containsKey(dest)) {
+        if (source == null || dest == null) {
             throw new IllegalArgumentException("One or both nodes do not exist.");
         }
+        if (!edgeKeys.add(((long) source.index << 32) | dest.index)) {
+            throw new IllegalArgumentException("Edge " + sourceId + " -> " + destId + " already exists.");
+        }
+
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = Arrays.copyOf(edgeFrom, edgeCount * 2);
+            edgeTo = Arrays.copyOf(edgeTo, edgeCount * 2);
+            edgeWeight = Arrays.copyOf(edgeWeight, edgeCount * 2);
+        }
+        edgeFrom[edgeCount] = source.index;
+        edgeTo[edgeCount] = dest.index;
+        edgeWeight[edgeCount] = weight;
+        edgeCount++;
+        if (weight < 0) negativeEdges++;
+        invalidateCsr();
+        if (components != null) components.addEdge(source.index, dest.index);
 
-        adjList.get(source).add(dest);
-        edges.add(new Edge(source, dest));
+        if (storage == Storage.OBJECTS) {
+            Edge edge = new Edge(source, dest, weight);
+            adjList.get(source).add(dest);
+            edges.add(edge);
+            outgoing.get(source).add(edge);
+            incoming.get(dest).add(edge);
+        }
         // For undirected, add this: adjList.get(dest).add(source);
 
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('Graph', 'AddEdge', '%s -> %s')", sourceId.replace("'", "''"), destId.replace("'", "''")));
+        // Always "a -> b (w)", so a destination id ending in " (...)" cannot be mistaken for a weight
+        listeners.operation(Operation.ADD_EDGE, sourceId + EDGE_ARROW + destId + " (" + weight + ")");
+        listeners.edgeAdded(source, dest, weight);
     }
 
+    /**
+     * Adjacency lists by node. Live for OBJECTS storage; a fresh copy for COMPACT storage.
+     */
     public Map<Node, List<Node>> getAdjList() {
-        return adjList;
+        if (storage == Storage.OBJECTS) return adjList;
+        CsrGraph graph = csr();
+        Map<Node, List<Node>> copy = new HashMap<>();
+        for (Node node : nodeList) {
+            List<Node> neighbours = new ArrayList<>(graph.degree(node.index));
+            for (int i = graph.offsets[node.index]; i < graph.offsets[node.index + 1]; i++) {
+                neighbours.add(nodeList.get(graph.targets[i]));
+            }
+            copy.put(node, neighbours);
+        }
+        return copy;
     }
 
     public List<Edge> getEdges() {
-        return edges;
+        if (storage == Storage.OBJECTS) return edges;
+        return new AbstractList<>() {
+            @Override
+            public Edge get(int i) {
+                Objects.checkIndex(i, edgeCount);
+                return new Edge(nodeList.get(edgeFrom[i]), nodeList.get(edgeTo[i]), edgeWeight[i]);
+            }
+
+            @Override
+            public int size() {
+                return edgeCount;
+            }
+        };
+    }
+
+    public List<Edge> getOutgoingEdges(Node node) {
+        if (storage == Storage.COMPACT) return edgesOf(node, csr(), true);
+        List<Edge> list = outgoing.get(node);
+        return list == null ? List.of() : Collections.unmodifiableList(list);
+    }
+
+    public List<Edge> getIncomingEdges(Node node) {
+        if (storage == Storage.COMPACT) return edgesOf(node, reverseCsr(), false);
+        List<Edge> list = incoming.get(node);
+        return list == null ? List.of() : Collections.unmodifiableList(list);
     }
 
-    public Set<Node> getNodes() {
-        return adjList.keySet();
+    /**
+     * All nodes, in the order they were added.
+     */
+    public List<Node> getNodes() {
+        return Collections.unmodifiableList(nodeList);
+    }
+
+    public int getNodeCount() {
+        return nodeList.size();
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
     }
 
     public Node getNodeById(String id) {
-        for (Node n : adjList.keySet()) {
-            if (n.id.equals(id)) return n;
-        }
-        return null;
+        return nodesById.get(id);
     }
 
     public List<Node> bfs(String startNodeId) {
+        return bfs(startNodeId, TraversalEngine.SEQUENTIAL);
+    }
+
+    public List<Node> bfs(String startNodeId, TraversalEngine engine) {
+        Node startNode = getNodeById(startNodeId);
+        if (startNode == null) throw new IllegalArgumentException("Start node not found.");
+        if (engine == TraversalEngine.PARALLEL) {
+            if (parallelBfs == null) parallelBfs = new ParallelBfs(csr(), ForkJoinPool.commonPool());
+            return toNodes(parallelBfs.run(startNode.index));
+        }
+        return toNodes(csr().bfs(startNode.index));
+    }
+
+    public List<Node> dfs(String startNodeId) {
         Node startNode = getNodeById(startNodeId);
         if (startNode == null) throw new IllegalArgumentException("Start node not found.");
+        return toNodes(csr().dfs(startNode.index));
+    }
 
-        List<Node> visitedOrder = new ArrayList<>();
-        Queue<Node> queue = new LinkedList<>();
-        Set<Node> visited = new HashSet<>();
+    /**
+     * Dijkstra's algorithm from source to target (or to every node when targetId is null).
+     * @param recordTrace Whether to keep every relaxation and settled node for animation.
+     */
+    public PathResult dijkstra(String sourceId, String targetId, boolean recordTrace) {
+        return aStar(sourceId, targetId, null, recordTrace);
+    }
 
-        queue.add(startNode);
-        visited.add(startNode);
+    /**
+     * A* search; with a null or NONE heuristic this is Dijkstra.
+     */
+    public PathResult aStar(String sourceId, String targetId, PathHeuristic heuristic, boolean recordTrace) {
+        if (negativeEdges > 0) {
+            throw new IllegalStateException("The graph has negative weights; use Bellman-Ford.");
+        }
+        Node source = requireNode(sourceId, "Start");
+        Node target = targetId == null ? null : requireNode(targetId, "Target");
+        return ShortestPaths.search(csr(), source.index, target == null ? -1 : target.index,
+                heuristic == null || target == null ? null : v -> heuristic.estimate(nodeList.get(v), target),
+                nodeList::get, recordTrace);
+    }
 
-        while(!queue.isEmpty()) {
-            Node current = queue.poll();
-            visitedOrder.add(current);
+    /**
+     * Bellman-Ford, which also handles negative weights and reports negative cycles.
+     */
+    public PathResult bellmanFord(String sourceId, String targetId, boolean recordTrace) {
+        Node source = requireNode(sourceId, "Start");
+        Node target = targetId == null ? null : requireNode(targetId, "Target");
+        return ShortestPaths.bellmanFord(csr(), source.index, target == null ? -1 : target.index,
+                nodeList::get, recordTrace);
+    }
 
-            for (Node neighbor : adjList.get(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.add(neighbor);
-                }
-            }
+    private Node requireNode(String id, String role) {
+        Node node = getNodeById(id);
+        if (node == null) throw new IllegalArgumentException(role + " node not found.");
+        return node;
+    }
+
+    // --- Components, cycles and topological order ---
+
+    /**
+     * Turns incremental tracking of strongly connected components on or off. While on, every
+     * addEdge keeps components and their topological order current, touching only the part of
+     * the order between the edge's ends, and the queries below answer without a full pass.
+     */
+    public void setComponentTracking(boolean enabled) {
+        if (!enabled) {
+            components = null;
+            return;
+        }
+        if (components != null) return;
+        ComponentTracker tracker = new ComponentTracker();
+        for (int i = 0; i < nodeList.size(); i++) {
+            tracker.addNode();
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            tracker.appendEdge(edgeFrom[e], edgeTo[e]);
         }
-        return visitedOrder;
+        components = tracker;
+        refreshComponents();
     }
 
-    public List<Node> dfs(String startNodeId) {
-        Node startNode = getNodeById(startNodeId);
-        if (startNode == null) throw new IllegalArgumentException("Start node not found.");
+    // One Tarjan pass, for a new tracker or one whose last update ran over budget
+    private ComponentTracker refreshComponents() {
+        int[] component = csr().stronglyConnectedComponents();
+        components.initialise(component, componentCount(component));
+        return components;
+    }
 
-        List<Node> visitedOrder = new ArrayList<>();
-        Stack<Node> stack = new Stack<>();
-        Set<Node> visited = new HashSet<>();
+    private ComponentTracker tracker() {
+        if (components == null) return null;
+        return components.isStale() ? refreshComponents() : components;
+    }
 
-        stack.push(startNode);
+    public boolean isComponentTracking() {
+        return components != null;
+    }
 
-        while(!stack.isEmpty()) {
-            Node current = stack.pop();
+    /**
+     * Id of the node's strongly connected component; nodes share an id exactly when they lie on a common cycle.
+     * Ids change when components merge. Requires component tracking.
+     */
+    public int getComponentId(Node node) {
+        return requireTracking().componentOf(requireNode(node.id, "Component").index);
+    }
 
-            if (!visited.contains(current)) {
-                visited.add(current);
-                visitedOrder.add(current);
+    /**
+     * All nodes in the same strongly connected component as node, node first. Requires component tracking.
+     */
+    public List<Node> getComponentMembers(Node node) {
+        return toNodes(requireTracking().members(requireNode(node.id, "Component").index));
+    }
+
+    public int getComponentSize(Node node) {
+        return requireTracking().componentSize(requireNode(node.id, "Component").index);
+    }
 
-                // Push neighbors in reverse order to visit them in correct order
-                List<Node> neighbors = adjList.get(current);
-                for (int i = neighbors.size() - 1; i >= 0; i--) {
-                    if (!visited.contains(neighbors.get(i))) {
-                        stack.push(neighbors.get(i));
-                    }
-                }
+    /**
+     * Strongly connected components, listed in topological order of the graph they form.
+     */
+    public List<List<Node>> stronglyConnectedComponents() {
+        List<List<Node>> result = new ArrayList<>();
+        ComponentTracker components = tracker();
+        if (components != null) {
+            int previous = -1;
+            for (int v : components.topologicalOrder()) {
+                int c = components.componentOf(v);
+                if (c != previous) result.add(new ArrayList<>());
+                result.get(result.size() - 1).add(nodeList.get(v));
+                previous = c;
             }
+            return result;
         }
-        return visitedOrder;
+        int[] component = csr().stronglyConnectedComponents();
+        int count = componentCount(component);
+        for (int c = 0; c < count; c++) {
+            result.add(new ArrayList<>());
+        }
+        for (int v = 0; v < component.length; v++) {
+            result.get(count - 1 - component[v]).add(nodeList.get(v)); // Tarjan completes sinks first
+        }
+        return result;
+    }
+
+    public boolean hasCycle() {
+        ComponentTracker components = tracker();
+        if (components != null) return components.hasCycle();
+        for (int e = 0; e < edgeCount; e++) {
+            if (edgeFrom[e] == edgeTo[e]) return true;
+        }
+        return componentCount(csr().stronglyConnectedComponents()) < nodeList.size();
+    }
+
+    /**
+     * Nodes ordered so that every edge points forwards.
+     * @throws IllegalStateException if the graph has a cycle.
+     */
+    public List<Node> topologicalOrder() {
+        if (hasCycle()) {
+            throw new IllegalStateException("The graph has a cycle, so it has no topological order.");
+        }
+        ComponentTracker components = tracker();
+        if (components != null) return toNodes(components.topologicalOrder());
+        List<Node> order = new ArrayList<>(nodeList.size());
+        for (List<Node> component : stronglyConnectedComponents()) {
+            order.addAll(component);
+        }
+        return order;
+    }
+
+    private ComponentTracker requireTracking() {
+        if (components == null) throw new IllegalStateException("Component tracking is off.");
+        return tracker();
+    }
+
+    private static int componentCount(int[] component) {
+        int count = 0;
+        for (int c : component) count = Math.max(count, c + 1);
+        return count;
     }
 
     public void reset() {
+        if (components != null) components = new ComponentTracker();
+        nodesById.clear();
+        nodeList.clear();
+        edgeCount = 0;
+        negativeEdges = 0;
+        edgeKeys.clear();
+        invalidateCsr();
         adjList.clear();
         edges.clear();
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('Graph', 'Reset', NULL)");
+        outgoing.clear();
+        incoming.clear();
+        listeners.operation(Operation.RESET, null);
+        listeners.cleared();
+    }
+
+    // Lets OperationLogReplayer rebuild the model without logging, then hand it the real database
+    void attachDatabase(DatabaseInterface db) {
+        log.attach(db);
+    }
+
+    // --- Compact representation ---
+
+    CsrGraph csr() {
+        if (csr == null) {
+            csr = CsrGraph.build(nodeList.size(), edgeFrom, edgeTo, edgeWeight, edgeCount);
+        }
+        return csr;
+    }
+
+    private CsrGraph reverseCsr() {
+        if (reverseCsr == null) {
+            reverseCsr = CsrGraph.build(nodeList.size(), edgeTo, edgeFrom, edgeWeight, edgeCount);
+        }
+        return reverseCsr;
+    }
+
+    private void invalidateCsr() {
+        csr = null;
+        reverseCsr = null;
+        parallelBfs = null;
+    }
+
+    Node nodeAt(int index) {
+        return nodeList.get(index);
+    }
+
+    private List<Node> toNodes(int[] indexes) {
+        List<Node> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(nodeList.get(index));
+        }
+        return result;
+    }
+
+    private List<Edge> edgesOf(Node node, CsrGraph graph, boolean outgoingEdges) {
+        Node own = nodesById.get(node.id); // The caller may hold an equal, non-interned Node
+        if (own == null) return List.of();
+        List<Edge> result = new ArrayList<>(graph.degree(own.index));
+        for (int i = graph.offsets[own.index]; i < graph.offsets[own.index + 1]; i++) {
+            Node other = nodeList.get(graph.targets[i]);
+            result.add(outgoingEdges ? new Edge(own, other, graph.weights[i]) : new Edge(other, own, graph.weights[i]));
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package com.visualizer.model;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int items 0..capacity-1 keyed by double priorities, with decrease-key.
+ * Everything lives in three primitive arrays: the heap itself, each item's position in it
+ * and each item's key.
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] position; // -1 when not in the heap
+    private final double[] keys;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts the item, or lowers its key if it is already queued with a larger one.
+     */
+    void insertOrDecrease(int item, double key) {
+        if (position[item] < 0) {
+            heap[size] = item;
+            position[item] = size;
+            keys[item] = key;
+            siftUp(size++);
+        } else if (key < keys[item]) {
+            keys[item] = key;
+            siftUp(position[item]);
+        }
+    }
+
+    int pollMin() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty.");
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[heap[parent]] <= key) break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = heap[i];
+        double key = keys[item];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (keys[heap[child]] >= key) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+}
@@ -2,14 +2,33 @@ package com.visualizer.model;
 
 import com.visualizer.database.DatabaseInterface;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Random;
 
 public class LinkedListModel {
+    private static final String STRUCTURE = "LinkedList";
+
+    /**
+     * How nodes are linked. Both keep a tail pointer, so addLast is O(1); DOUBLY also links each
+     * node to its predecessor, which makes removeLast O(1) instead of a walk from the head.
+     */
+    public enum Linking {SINGLY, DOUBLY}
+
+    /**
+     * One stretch of the last positional walk. Level 0 follows next pointers one node at a time,
+     * from position {@code from} to {@code to} (downwards when coming in from the tail); higher
+     * levels are single skip-index links. Position -1 is the head pointer.
+     */
+    public record Hop(int level, int from, int to) {
+    }
 
     // Inner class for the node
     public static class Node {
         public String value;
         public Node next;
+        public Node prev; // DOUBLY only
 
         public Node(String value) {
             this.value = value;
@@ -18,16 +37,46 @@ public class LinkedListModel {
     }
 
     private Node head;
+    private Node tail;
     private int size;
-    private final DatabaseInterface db;
+    private final ModelListeners listeners = new ModelListeners();
+    private final OperationLogListener log; // Subscribed first, so operations are logged before views react
     private final int capacity;
+    private final Linking linking;
+    private final List<Hop> lastWalk = new ArrayList<>();
+
+    // Optional indexable skip list over the nodes: a node is on level k with probability 2^-k,
+    // and each link knows how many positions it spans, so a position is reached in O(log n) hops
+    private static final int MAX_LEVEL = 32;
+    private final Random coin = new Random();
+    private boolean indexed;
+    private IndexNode top; // Top of the tower at position -1; null while the index is empty
+    private int levels;
+
+    private static final class IndexNode {
+        final Node node; // Null in the head tower
+        IndexNode right;
+        IndexNode down;
+        int width;       // Positions from here to right
+
+        IndexNode(Node node) {
+            this.node = node;
+        }
+    }
 
     public LinkedListModel(int capacity, DatabaseInterface db) {
+        this(capacity, db, Linking.SINGLY);
+    }
+
+    public LinkedListModel(int capacity, DatabaseInterface db, Linking linking) {
         this.head = null;
+        this.tail = null;
         this.size = 0;
-        this.db = db;
+        this.log = new OperationLogListener(STRUCTURE, db, () -> SnapshotCodec.encode(this));
+        listeners.add(log);
         this.capacity = capacity;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'Create', 'Capacity " + capacity + "')");
+        this.linking = linking;
+        listeners.operation(Operation.CREATE, "Capacity " + capacity + (linking == Linking.SINGLY ? "" : ", " + linking));
     }
 
     public boolean isFull() {
@@ -38,6 +87,10 @@ public class LinkedListModel {
         return head == null;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
     public int getSize() {
         return size;
     }
@@ -46,70 +99,163 @@ public class LinkedListModel {
         return head;
     }
 
+    public Node getTail() {
+        return tail;
+    }
+
+    public Linking getLinking() {
+        return linking;
+    }
+
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Turns the skip index on (built in O(n)) or off. Positional operations then take O(log n)
+     * expected hops instead of walking the list; the contents are not affected.
+     */
+    public void setIndexed(boolean indexed) {
+        this.indexed = indexed;
+        top = null;
+        levels = 0;
+        if (!indexed) return;
+
+        IndexNode[] ends = new IndexNode[MAX_LEVEL];
+        int[] endPositions = new int[MAX_LEVEL];
+        int position = 0;
+        for (Node n = head; n != null; n = n.next, position++) {
+            int height = randomHeight();
+            growIndex(height, ends, endPositions);
+            IndexNode below = null;
+            for (int level = 0; level < height; level++) {
+                IndexNode x = new IndexNode(n);
+                x.down = below;
+                ends[level].right = x;
+                ends[level].width = position - endPositions[level];
+                ends[level] = x;
+                endPositions[level] = position;
+                below = x;
+            }
+        }
+    }
+
+    /**
+     * Links followed by the last insertAt, removeAt, get, find or removeLast, in order.
+     */
+    public List<Hop> getLastWalk() {
+        return Collections.unmodifiableList(lastWalk);
+    }
+
+    // Every level 0 node passed is a step, every skip link one step
+    public long getLastSteps() {
+        long steps = 0;
+        for (Hop hop : lastWalk) {
+            steps += hop.level() == 0 ? Math.abs(hop.to() - hop.from()) : 1;
+        }
+        return steps;
+    }
+
+    public void addListener(ModelListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
+    }
+
     public void addFirst(String value) {
         if (isFull()) throw new IllegalStateException("List is full. Cannot add " + value);
 
-        Node newNode = new Node(value);
-        newNode.next = head;
-        head = newNode;
-        size++;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'AddFirst', '%s')", value.replace("'", "''")));
+        linkAt(0, new Node(value));
+        listeners.operation(Operation.ADD_FIRST, value);
+        listeners.inserted(0, value);
     }
 
     public void addLast(String value) {
         if (isFull()) throw new IllegalStateException("List is full. Cannot add " + value);
 
-        Node newNode = new Node(value);
-        if (isEmpty()) {
-            head = newNode;
-        } else {
-            Node current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
+        linkAt(size, new Node(value));
+        listeners.operation(Operation.ADD_LAST, value);
+        listeners.inserted(size - 1, value);
+    }
+
+    public void insertAt(int index, String value) {
+        if (isFull()) throw new IllegalStateException("List is full. Cannot add " + value);
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
         }
-        size++;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'AddLast', '%s')", value.replace("'", "''")));
+
+        linkAt(index, new Node(value));
+        listeners.operation(Operation.INSERT_AT, index + ":" + value);
+        listeners.inserted(index, value);
     }
 
     public String removeFirst() {
         if (isEmpty()) throw new IllegalStateException("List is empty. Cannot remove.");
 
-        String value = head.value;
-        head = head.next;
-        size--;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'RemoveFirst', '%s')", value.replace("'", "''")));
+        String value = unlinkAt(0);
+        listeners.operation(Operation.REMOVE_FIRST, value);
+        listeners.removed(0, value);
         return value;
     }
 
+    // Needs the node before the tail: one back link when DOUBLY, a walk from the head (or the index) otherwise
     public String removeLast() {
         if (isEmpty()) throw new IllegalStateException("List is empty. Cannot remove.");
 
-        if (head.next == null) { // Only one element
-            String value = head.value;
-            head = null;
-            size--;
-            db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'RemoveLast', '%s')", value.replace("'", "''")));
-            return value;
-        }
+        String value = unlinkAt(size - 1);
+        listeners.operation(Operation.REMOVE_LAST, value);
+        listeners.removed(size, value);
+        return value;
+    }
 
-        Node current = head;
-        while (current.next.next != null) {
-            current = current.next;
-        }
+    public String removeAt(int index) {
+        if (isEmpty()) throw new IllegalStateException("List is empty. Cannot remove.");
+        checkIndex(index);
 
-        String value = current.next.value;
-        current.next = null;
-        size--;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'RemoveLast', '%s')", value.replace("'", "''")));
+        String value = unlinkAt(index);
+        listeners.operation(Operation.REMOVE_AT, index + ":" + value);
+        listeners.removed(index, value);
         return value;
     }
 
+    public String get(int index) {
+        checkIndex(index);
+        lastWalk.clear();
+        String value = nodeAt(index, lastWalk).value;
+        listeners.operation(Operation.GET, String.valueOf(index));
+        return value;
+    }
+
+    /**
+     * Position of the first node holding value, or -1. Always a walk from the head: the index
+     * only knows positions, not values.
+     */
+    public int find(String value) {
+        lastWalk.clear();
+        int position = 0;
+        for (Node n = head; n != null; n = n.next, position++) {
+            if (Objects.equals(n.value, value)) {
+                lastWalk.add(new Hop(0, 0, position));
+                listeners.operation(Operation.FIND, value);
+                return position;
+            }
+        }
+        if (size > 0) lastWalk.add(new Hop(0, 0, size - 1));
+        listeners.operation(Operation.FIND, value);
+        return -1;
+    }
+
     public void reset() {
         head = null;
+        tail = null;
         size = 0;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('LinkedList', 'Reset', NULL)");
+        top = null;
+        levels = 0;
+        lastWalk.clear();
+        listeners.operation(Operation.RESET, null);
+        listeners.cleared();
     }
 
     // Helper to get all node values, useful for controller
@@ -122,4 +268,189 @@ public class LinkedListModel {
         }
         return values;
     }
-}
\ No newline at end of file
+
+    // Values at positions from .. from + count - 1; finds the first one like get does, then walks on
+    public List<String> getValues(int from, int count) {
+        if (from < 0 || count < 0 || from > size - count) {
+            throw new IndexOutOfBoundsException("Range " + from + "+" + count + " out of bounds for size " + size);
+        }
+        List<String> values = new ArrayList<>(count);
+        Node current = count == 0 ? null : nodeAt(from, null);
+        for (int i = 0; i < count; i++) {
+            values.add(current.value);
+            current = current.next;
+        }
+        return values;
+    }
+
+    // --- Helpers ---
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    // Links node in so that it ends up at index; the tail pointer makes index == size O(1)
+    private void linkAt(int index, Node node) {
+        lastWalk.clear();
+        if (index == 0) {
+            node.next = head;
+            if (head == null) {
+                tail = node;
+            } else if (linking == Linking.DOUBLY) {
+                head.prev = node;
+            }
+            head = node;
+        } else {
+            Node before = index == size ? tail : nodeAt(index - 1, lastWalk);
+            node.next = before.next;
+            before.next = node;
+            if (linking == Linking.DOUBLY) {
+                node.prev = before;
+                if (node.next != null) node.next.prev = node;
+            }
+            if (before == tail) tail = node;
+        }
+        if (indexed) indexInsert(index, node);
+        size++;
+    }
+
+    private String unlinkAt(int index) {
+        lastWalk.clear();
+        Node before = index == 0 ? null : nodeAt(index - 1, lastWalk);
+        Node node = before == null ? head : before.next;
+        if (indexed) indexRemove(index, node);
+        if (before == null) {
+            head = node.next;
+        } else {
+            before.next = node.next;
+        }
+        if (node == tail) tail = before;
+        if (linking == Linking.DOUBLY && node.next != null) node.next.prev = before;
+        node.next = null;
+        node.prev = null;
+        size--;
+        return node.value;
+    }
+
+    // Through the index when there is one, otherwise from whichever end the links allow and is closer.
+    // Adds the links followed to walk unless it is null.
+    private Node nodeAt(int index, List<Hop> walk) {
+        if (indexed && top != null) {
+            IndexNode x = top;
+            int position = -1;
+            for (int level = levels; level >= 1; level--) {
+                while (x.right != null && position + x.width <= index) {
+                    if (walk != null) walk.add(new Hop(level, position, position + x.width));
+                    position += x.width;
+                    x = x.right;
+                }
+                if (level > 1) x = x.down;
+            }
+            if (position >= 0) return walkForward(x.node, position, index, walk);
+        }
+        if (linking == Linking.DOUBLY && index > size / 2) {
+            Node current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.prev;
+            }
+            if (walk != null) walk.add(new Hop(0, size - 1, index));
+            return current;
+        }
+        return walkForward(head, 0, index, walk);
+    }
+
+    private static Node walkForward(Node current, int position, int index, List<Hop> walk) {
+        for (int i = position; i < index; i++) {
+            current = current.next;
+        }
+        if (walk != null) walk.add(new Hop(0, position, index));
+        return current;
+    }
+
+    // P(height >= k) = 2^-k
+    private int randomHeight() {
+        return Math.min(MAX_LEVEL, Integer.numberOfTrailingZeros(coin.nextInt()));
+    }
+
+    private void growIndex(int height, IndexNode[] ends, int[] endPositions) {
+        while (levels < height) {
+            IndexNode head = new IndexNode(null);
+            head.down = top;
+            top = head;
+            if (ends != null) {
+                ends[levels] = head;
+                endPositions[levels] = -1;
+            }
+            levels++;
+        }
+    }
+
+    // For each level, the last index node before position index and its position
+    private int descend(int index, IndexNode[] before, int[] positions) {
+        IndexNode x = top;
+        int position = -1;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (x.right != null && position + x.width < index) {
+                position += x.width;
+                x = x.right;
+            }
+            before[level] = x;
+            positions[level] = position;
+            x = x.down;
+        }
+        return position;
+    }
+
+    // Called with node already linked at index but not yet counted in size
+    private void indexInsert(int index, Node node) {
+        int height = randomHeight();
+        growIndex(height, null, null);
+        if (levels == 0) return;
+        IndexNode[] before = new IndexNode[levels];
+        int[] positions = new int[levels];
+        descend(index, before, positions);
+        IndexNode below = null;
+        for (int level = 0; level < levels; level++) {
+            IndexNode b = before[level];
+            if (level < height) {
+                IndexNode x = new IndexNode(node);
+                x.down = below;
+                x.right = b.right;
+                if (b.right != null) x.width = positions[level] + b.width + 1 - index;
+                b.right = x;
+                b.width = index - positions[level];
+                below = x;
+            } else if (b.right != null) {
+                b.width++;
+            }
+        }
+    }
+
+    // Called while node is still at index
+    private void indexRemove(int index, Node node) {
+        if (levels == 0) return;
+        IndexNode[] before = new IndexNode[levels];
+        int[] positions = new int[levels];
+        descend(index, before, positions);
+        for (int level = 0; level < levels; level++) {
+            IndexNode b = before[level];
+            if (b.right != null && b.right.node == node) {
+                b.width += b.right.width - 1;
+                b.right = b.right.right;
+            } else if (b.right != null) {
+                b.width--;
+            }
+        }
+        while (top != null && top.right == null) { // Drop levels left empty
+            top = top.down;
+            levels--;
+        }
+    }
+
+    // Lets OperationLogReplayer rebuild the model without logging, then hand it the real database
+    void attachDatabase(DatabaseInterface db) {
+        log.attach(db);
+    }
+}
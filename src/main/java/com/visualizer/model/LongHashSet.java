@@ -0,0 +1,66 @@
+package com.visualizer.model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of longs, used to detect duplicate edges without boxing.
+ * Long.MIN_VALUE marks an empty slot and cannot be stored.
+ */
+final class LongHashSet {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] slots = newSlots(16);
+    private int size;
+
+    /**
+     * Adds the value and returns false if it was already present.
+     */
+    boolean add(long value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Value cannot be stored.");
+        }
+        if ((size + 1) * 2 > slots.length) grow(); // Keep the load factor under 0.5
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        slots = newSlots(16);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = newSlots(old.length * 2);
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value == EMPTY) continue;
+            int i = mix(value) & mask;
+            while (slots[i] != EMPTY) i = (i + 1) & mask;
+            slots[i] = value;
+        }
+    }
+
+    private static long[] newSlots(int capacity) {
+        long[] slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
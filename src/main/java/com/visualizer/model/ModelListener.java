@@ -0,0 +1,53 @@
+package com.visualizer.model;
+
+/**
+ * Told about every change to a model, right after it has been made. Events are plain calls with
+ * primitive or existing arguments, so nothing is allocated per event; every method does nothing
+ * by default, so listeners implement only what their structure produces.
+ * Sequence indexes count from the bottom of a stack, the front of a queue and the head of a list.
+ */
+public interface ModelListener {
+
+    /**
+     * Every operation, including read-only ones, with the value recorded for it in operation_logs
+     * (may be null). Comes before the structural events of the same operation.
+     */
+    default void operation(Operation operation, String value) {
+    }
+
+    // --- Sequences ---
+
+    default void inserted(int index, String value) {
+    }
+
+    default void removed(int index, String value) {
+    }
+
+    /**
+     * The model was reset and is empty. Sent by every structure.
+     */
+    default void cleared() {
+    }
+
+    // --- Binary search tree ---
+
+    default void keyInserted(int key) {
+    }
+
+    default void keyDeleted(int key) {
+    }
+
+    /**
+     * One rebalancing rotation, in the order they happen within an insert or delete.
+     */
+    default void rotated(BinaryTreeModel.Rotation rotation) {
+    }
+
+    // --- Graph ---
+
+    default void nodeAdded(GraphModel.Node node) {
+    }
+
+    default void edgeAdded(GraphModel.Node source, GraphModel.Node destination, double weight) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.visualizer.model;
+
+import java.util.Arrays;
+
+/**
+ * The listeners of one model, notified in the order they were added. Copied on write, so firing
+ * is a loop over an array and a listener may unsubscribe while being notified.
+ */
+final class ModelListeners implements ModelListener {
+
+    private static final ModelListener[] NONE = new ModelListener[0];
+
+    private ModelListener[] listeners = NONE;
+
+    void add(ModelListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    void remove(ModelListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                ModelListener[] smaller = new ModelListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, smaller, 0, i);
+                System.arraycopy(listeners, i + 1, smaller, i, smaller.length - i);
+                listeners = smaller;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void operation(Operation operation, String value) {
+        for (ModelListener listener : listeners) listener.operation(operation, value);
+    }
+
+    @Override
+    public void inserted(int index, String value) {
+        for (ModelListener listener : listeners) listener.inserted(index, value);
+    }
+
+    @Override
+    public void removed(int index, String value) {
+        for (ModelListener listener : listeners) listener.removed(index, value);
+    }
+
+    @Override
+    public void cleared() {
+        for (ModelListener listener : listeners) listener.cleared();
+    }
+
+    @Override
+    public void keyInserted(int key) {
+        for (ModelListener listener : listeners) listener.keyInserted(key);
+    }
+
+    @Override
+    public void keyDeleted(int key) {
+        for (ModelListener listener : listeners) listener.keyDeleted(key);
+    }
+
+    @Override
+    public void rotated(BinaryTreeModel.Rotation rotation) {
+        for (ModelListener listener : listeners) listener.rotated(rotation);
+    }
+
+    @Override
+    public void nodeAdded(GraphModel.Node node) {
+        for (ModelListener listener : listeners) listener.nodeAdded(node);
+    }
+
+    @Override
+    public void edgeAdded(GraphModel.Node source, GraphModel.Node destination, double weight) {
+        for (ModelListener listener : listeners) listener.edgeAdded(source, destination, weight);
+    }
+}
@@ -0,0 +1,66 @@
+package com.visualizer.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Everything a model can be asked to do, with the name it is recorded under in operation_logs.
+ */
+public enum Operation {
+    CREATE("Create"),
+    RESET("Reset"),
+    // Stack and queue
+    PUSH("Push"),
+    POP("Pop"),
+    ENQUEUE("Enqueue"),
+    DEQUEUE("Dequeue"),
+    // Linked list
+    ADD_FIRST("AddFirst"),
+    ADD_LAST("AddLast"),
+    INSERT_AT("InsertAt"),
+    REMOVE_FIRST("RemoveFirst"),
+    REMOVE_LAST("RemoveLast"),
+    REMOVE_AT("RemoveAt"),
+    GET("Get"),
+    FIND("Find"),
+    // Binary search tree
+    INSERT("Insert"),
+    DELETE("Delete"),
+    SEARCH("Search"),
+    MIN("Min"),
+    MAX("Max"),
+    FLOOR("Floor"),
+    CEILING("Ceiling"),
+    RANK("Rank"),
+    SELECT("Select"),
+    RANGE("Range"),
+    RANGE_COUNT("RangeCount"),
+    // Graph
+    ADD_NODE("AddNode"),
+    ADD_EDGE("AddEdge");
+
+    private static final Map<String, Operation> BY_LOG_NAME = new HashMap<>();
+
+    static {
+        for (Operation operation : values()) {
+            BY_LOG_NAME.put(operation.logName, operation);
+        }
+    }
+
+    private final String logName;
+
+    Operation(String logName) {
+        this.logName = logName;
+    }
+
+    public String logName() {
+        return logName;
+    }
+
+    /**
+     * The operation logged under this name, or null for names this version does not know.
+     */
+    public static Operation fromLogName(String logName) {
+        return BY_LOG_NAME.get(logName);
+    }
+}
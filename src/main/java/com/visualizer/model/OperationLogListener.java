@@ -0,0 +1,34 @@
+package com.visualizer.model;
+
+import com.visualizer.database.DatabaseInterface;
+
+import java.util.function.Supplier;
+
+/**
+ * Writes a model's operation events to operation_logs. Every model subscribes one of these
+ * first, so the log sees each operation before any view reacts to it.
+ * Each operation carries the model's snapshot source, so a snapshotting database encodes
+ * exactly the model that logged it.
+ */
+final class OperationLogListener implements ModelListener {
+
+    private final String structure;
+    private final Supplier<byte[]> snapshot;
+    private DatabaseInterface db;
+
+    OperationLogListener(String structure, DatabaseInterface db, Supplier<byte[]> snapshot) {
+        this.structure = structure;
+        this.db = db;
+        this.snapshot = snapshot;
+    }
+
+    // Lets OperationLogReplayer rebuild a model without logging, then hand it the real database
+    void attach(DatabaseInterface db) {
+        this.db = db;
+    }
+
+    @Override
+    public void operation(Operation operation, String value) {
+        db.logOperation(structure, operation.logName(), value, snapshot);
+    }
+}
@@ -0,0 +1,290 @@
+package com.visualizer.model;
+
+import com.visualizer.database.DatabaseInterface;
+import com.visualizer.database.LogQuery;
+import com.visualizer.database.LoggedOperation;
+import com.visualizer.database.NoOpDatabaseConnection;
+import com.visualizer.database.OperationCursor;
+import com.visualizer.database.StructureSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Rebuilds models from the rows in operation_logs.
+ * Rows are streamed through a cursor and applied one at a time to a model that
+ * logs nowhere, so memory use does not depend on the length of the history. Rows go through the
+ * model's own mutators, but until the result is attached nothing else listens, so no view sees them.
+ * The last "Create" row in the range starts a fresh instance; everything before it is ignored.
+ * The no-range variants start from the latest snapshot and only replay the rows logged after it.
+ */
+public class OperationLogReplayer {
+
+    /**
+     * Outcome of a replay.
+     * @param model     The rebuilt model, now logging to the target database.
+     * @param applied   Number of rows that changed the model.
+     * @param skipped   Number of rows that were ignored or could not be applied.
+     * @param lastLogId Id of the last row read; later rows were not part of the replay.
+     */
+    public record Result<T>(T model, long applied, long skipped, long lastLogId) {
+    }
+
+    @FunctionalInterface
+    private interface Applier<T> {
+        /** Applies one logged operation and returns false if it does not change the model. */
+        boolean apply(T model, Operation operation, String value);
+    }
+
+    private static final DatabaseInterface NO_LOGGING = new NoOpDatabaseConnection();
+    private static final String CAPACITY_PREFIX = "Capacity ";
+
+    private final DatabaseInterface source;
+
+    public OperationLogReplayer(DatabaseInterface source) {
+        this.source = source;
+    }
+
+    public Result<StackModel> restoreStack(DatabaseInterface target) {
+        return restoreFromSnapshot("Stack", SnapshotCodec::decodeStack,
+                value -> new StackModel(parseCapacity(value), NO_LOGGING), OperationLogReplayer::applyStack,
+                StackModel::attachDatabase, target);
+    }
+
+    public Result<QueueModel> restoreQueue(DatabaseInterface target) {
+        return restoreFromSnapshot("Queue", SnapshotCodec::decodeQueue,
+                value -> new QueueModel(parseCapacity(value), NO_LOGGING), OperationLogReplayer::applyQueue,
+                QueueModel::attachDatabase, target);
+    }
+
+    public Result<LinkedListModel> restoreLinkedList(DatabaseInterface target) {
+        return restoreFromSnapshot("LinkedList", SnapshotCodec::decodeLinkedList,
+                value -> new LinkedListModel(parseCapacity(value), NO_LOGGING, parseLinking(value)),
+                OperationLogReplayer::applyLinkedList,
+                LinkedListModel::attachDatabase, target);
+    }
+
+    public Result<BinaryTreeModel> restoreBinaryTree(DatabaseInterface target) {
+        return restoreFromSnapshot("BST", SnapshotCodec::decodeBinaryTree,
+                value -> new BinaryTreeModel(parseCapacity(value), NO_LOGGING, parseBalance(value)),
+                OperationLogReplayer::applyBinaryTree,
+                BinaryTreeModel::attachDatabase, target);
+    }
+
+    public Result<GraphModel> restoreGraph(DatabaseInterface target) {
+        return restoreFromSnapshot("Graph", SnapshotCodec::decodeGraph,
+                value -> new GraphModel(NO_LOGGING), OperationLogReplayer::applyGraph,
+                GraphModel::attachDatabase, target);
+    }
+
+    public Result<StackModel> restoreStack(LocalDateTime from, LocalDateTime to, DatabaseInterface target) {
+        return restore(query("Stack", from, to), null,
+                value -> new StackModel(parseCapacity(value), NO_LOGGING), OperationLogReplayer::applyStack,
+                StackModel::attachDatabase, target);
+    }
+
+    public Result<QueueModel> restoreQueue(LocalDateTime from, LocalDateTime to, DatabaseInterface target) {
+        return restore(query("Queue", from, to), null,
+                value -> new QueueModel(parseCapacity(value), NO_LOGGING), OperationLogReplayer::applyQueue,
+                QueueModel::attachDatabase, target);
+    }
+
+    public Result<LinkedListModel> restoreLinkedList(LocalDateTime from, LocalDateTime to, DatabaseInterface target) {
+        return restore(query("LinkedList", from, to), null,
+                value -> new LinkedListModel(parseCapacity(value), NO_LOGGING, parseLinking(value)),
+                OperationLogReplayer::applyLinkedList,
+                LinkedListModel::attachDatabase, target);
+    }
+
+    public Result<BinaryTreeModel> restoreBinaryTree(LocalDateTime from, LocalDateTime to, DatabaseInterface target) {
+        return restore(query("BST", from, to), null,
+                value -> new BinaryTreeModel(parseCapacity(value), NO_LOGGING, parseBalance(value)),
+                OperationLogReplayer::applyBinaryTree,
+                BinaryTreeModel::attachDatabase, target);
+    }
+
+    public Result<GraphModel> restoreGraph(LocalDateTime from, LocalDateTime to, DatabaseInterface target) {
+        return restore(query("Graph", from, to), null,
+                value -> new GraphModel(NO_LOGGING), OperationLogReplayer::applyGraph,
+                GraphModel::attachDatabase, target);
+    }
+
+    private static LogQuery query(String structure, LocalDateTime from, LocalDateTime to) {
+        return LogQuery.forStructure(structure).between(from, to);
+    }
+
+    // A "Create" in the tail means a newer instance replaced the snapshotted one; restore() handles that
+    private <T> Result<T> restoreFromSnapshot(String structure, BiFunction<byte[], DatabaseInterface, T> decoder,
+                                              Function<String, T> factory, Applier<T> applier,
+                                              BiConsumer<T, DatabaseInterface> attach, DatabaseInterface target) {
+        StructureSnapshot snapshot = source.loadLatestSnapshot(structure);
+        T initial = null;
+        LogQuery tail = LogQuery.forStructure(structure);
+        if (snapshot != null) {
+            try {
+                initial = decoder.apply(snapshot.data(), NO_LOGGING);
+                tail = tail.after(snapshot.logId());
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                System.err.println("Ignoring unreadable " + structure + " snapshot: " + e.getMessage());
+            }
+        }
+        return restore(tail, initial, factory, applier, attach, target);
+    }
+
+    private <T> Result<T> restore(LogQuery query, T initial, Function<String, T> factory, Applier<T> applier,
+                                  BiConsumer<T, DatabaseInterface> attach, DatabaseInterface target) {
+        T model = initial;
+        long applied = 0;
+        long skipped = 0;
+        long lastLogId = query.afterId();
+
+        try (OperationCursor cursor = source.openCursor(query)) {
+            while (cursor.hasNext()) {
+                LoggedOperation row = cursor.next();
+                lastLogId = row.id();
+
+                Operation operation = Operation.fromLogName(row.operation());
+                if (operation == Operation.CREATE) {
+                    model = factory.apply(row.value());
+                    applied++;
+                } else if (model == null || operation == null) {
+                    skipped++; // The range started in the middle of an earlier instance, or an unknown row
+                } else {
+                    try {
+                        if (applier.apply(model, operation, row.value())) {
+                            applied++;
+                        } else {
+                            skipped++;
+                        }
+                    } catch (IllegalStateException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                        skipped++;
+                    }
+                }
+            }
+        }
+
+        if (model == null) {
+            throw new IllegalStateException("No " + query.structure() + " found in the operation log.");
+        }
+        attach.accept(model, target);
+        return new Result<>(model, applied, skipped, lastLogId);
+    }
+
+    // "Capacity N", optionally followed by ", MODE" for balanced trees and doubly linked lists
+    private static int parseCapacity(String value) {
+        if (value == null || !value.startsWith(CAPACITY_PREFIX)) return 0;
+        int end = value.indexOf(',');
+        try {
+            return Integer.parseInt(value.substring(CAPACITY_PREFIX.length(), end < 0 ? value.length() : end).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // "index:value"; the value may itself contain colons
+    private static int parseIndex(String value) {
+        return Integer.parseInt(value.substring(0, value.indexOf(':')));
+    }
+
+    private static BinaryTreeModel.Balance parseBalance(String value) {
+        return parseMode(value, BinaryTreeModel.Balance.class, BinaryTreeModel.Balance.NONE);
+    }
+
+    private static LinkedListModel.Linking parseLinking(String value) {
+        return parseMode(value, LinkedListModel.Linking.class, LinkedListModel.Linking.SINGLY);
+    }
+
+    private static <E extends Enum<E>> E parseMode(String value, Class<E> type, E fallback) {
+        int comma = value == null ? -1 : value.indexOf(',');
+        if (comma < 0) return fallback;
+        try {
+            return Enum.valueOf(type, value.substring(comma + 1).trim());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    // --- Per-structure appliers ---
+
+    private static boolean applyStack(StackModel model, Operation operation, String value) {
+        switch (operation) {
+            case PUSH -> model.push(value);
+            case POP -> model.pop();
+            case RESET -> model.reset();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean applyQueue(QueueModel model, Operation operation, String value) {
+        switch (operation) {
+            case ENQUEUE -> model.enqueue(value);
+            case DEQUEUE -> model.dequeue();
+            case RESET -> model.reset();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean applyLinkedList(LinkedListModel model, Operation operation, String value) {
+        switch (operation) {
+            case ADD_FIRST -> model.addFirst(value);
+            case ADD_LAST -> model.addLast(value);
+            case REMOVE_FIRST -> model.removeFirst();
+            case REMOVE_LAST -> model.removeLast();
+            case INSERT_AT -> model.insertAt(parseIndex(value), value.substring(value.indexOf(':') + 1));
+            case REMOVE_AT -> model.removeAt(parseIndex(value));
+            case RESET -> model.reset();
+            default -> {
+                return false; // Get and Find
+            }
+        }
+        return true;
+    }
+
+    private static boolean applyBinaryTree(BinaryTreeModel model, Operation operation, String value) {
+        switch (operation) {
+            case INSERT -> model.insert(Integer.parseInt(value));
+            case DELETE -> model.delete(Integer.parseInt(value));
+            case RESET -> model.reset();
+            default -> {
+                return false; // Search, range queries and other read-only rows
+            }
+        }
+        return true;
+    }
+
+    private static boolean applyGraph(GraphModel model, Operation operation, String value) {
+        switch (operation) {
+            case ADD_NODE -> model.addNode(value);
+            case ADD_EDGE -> {
+                // Logged as "source -> destination (weight)"; older rows may omit the default weight
+                int arrow = value.indexOf(GraphModel.EDGE_ARROW);
+                if (arrow < 0) throw new IllegalArgumentException("Malformed edge: " + value);
+                String destination = value.substring(arrow + GraphModel.EDGE_ARROW.length());
+                double weight = GraphModel.DEFAULT_WEIGHT;
+                int open = destination.lastIndexOf(" (");
+                if (open >= 0 && destination.endsWith(")")) {
+                    try {
+                        weight = Double.parseDouble(destination.substring(open + 2, destination.length() - 1));
+                        destination = destination.substring(0, open);
+                    } catch (NumberFormatException e) {
+                        // Not a weight, just an id that ends in parentheses
+                    }
+                }
+                model.addEdge(value.substring(0, arrow), destination, weight);
+            }
+            case RESET -> model.reset();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,234 @@
+package com.visualizer.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous parallel BFS over a CsrGraph, switching between top-down steps
+ * (frontier pushes to its neighbours) and bottom-up steps (unvisited nodes look for a
+ * parent in the frontier) with Beamer's heuristic.
+ * <p>
+ * The result is exactly the sequential order: a node discovered in a level gets the key
+ * (position of its parent in the frontier, position of the edge in the parent's adjacency),
+ * the smallest key wins via a CAS, and the next frontier is the discovered nodes sorted by key.
+ * Bottom-up steps therefore check every frontier parent instead of stopping at the first.
+ */
+final class ParallelBfs {
+
+    private static final long UNSEEN = Long.MAX_VALUE;
+    private static final int CHUNK = 1024; // Frontier entries or nodes per leaf task
+    private static final int ALPHA = 14; // Go bottom-up once the frontier's edges exceed unexplored edges / ALPHA
+    private static final int BETA = 24; // Go back top-down once the frontier shrinks below n / BETA
+
+    private final CsrGraph graph;
+    private final ForkJoinPool pool;
+
+    // Reverse adjacency with, for each entry, the offset of the same edge in the source's forward list
+    private int[] reverseOffsets;
+    private int[] reverseSources;
+    private int[] reverseEdgeOffsets;
+
+    ParallelBfs(CsrGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    int[] run(int start) {
+        int n = graph.nodeCount;
+        int[] order = new int[n];
+        int visitedCount = 0;
+        BitSet visited = new BitSet(n);
+        AtomicLongArray keys = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) keys.set(v, UNSEEN);
+        int[] frontierPos = new int[n];
+        Arrays.fill(frontierPos, -1);
+
+        int[] frontier = {start};
+        visited.set(start);
+        order[visitedCount++] = start;
+        long unexploredEdges = graph.targets.length;
+        boolean bottomUp = false;
+
+        while (frontier.length > 0) {
+            long frontierEdges = 0;
+            for (int v : frontier) frontierEdges += graph.degree(v);
+            unexploredEdges -= frontierEdges;
+
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontier.length < n / BETA) {
+                bottomUp = false;
+            }
+
+            int[] discovered;
+            if (bottomUp) {
+                for (int i = 0; i < frontier.length; i++) frontierPos[frontier[i]] = i;
+                discovered = bottomUpStep(visited, frontierPos, keys);
+                for (int v : frontier) frontierPos[v] = -1;
+            } else {
+                discovered = topDownStep(frontier, visited, keys);
+            }
+
+            // Sequential BFS order is the order of the keys; decode each key back to its node
+            long[] sorted = new long[discovered.length];
+            for (int i = 0; i < discovered.length; i++) sorted[i] = keys.get(discovered[i]);
+            Arrays.parallelSort(sorted);
+            int[] next = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                int parent = frontier[(int) (sorted[i] >>> 32)];
+                next[i] = graph.targets[graph.offsets[parent] + (int) sorted[i]];
+                visited.set(next[i]);
+                order[visitedCount++] = next[i];
+            }
+            frontier = next;
+        }
+        return Arrays.copyOf(order, visitedCount);
+    }
+
+    // --- Top-down: each frontier node offers itself as parent to its unvisited neighbours ---
+
+    private int[] topDownStep(int[] frontier, BitSet visited, AtomicLongArray keys) {
+        TopDownTask task = new TopDownTask(frontier, visited, keys, 0, frontier.length);
+        pool.invoke(task);
+        return task.found;
+    }
+
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private final class TopDownTask extends RecursiveAction {
+        private final int[] frontier;
+        private final BitSet visited; // Only read while tasks run
+        private final AtomicLongArray keys;
+        private final int from, to;
+        int[] found;
+
+        TopDownTask(int[] frontier, BitSet visited, AtomicLongArray keys, int from, int to) {
+            this.frontier = frontier;
+            this.visited = visited;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                TopDownTask left = new TopDownTask(frontier, visited, keys, from, mid);
+                TopDownTask right = new TopDownTask(frontier, visited, keys, mid, to);
+                invokeAll(left, right);
+                found = concat(left.found, right.found);
+                return;
+            }
+            int[] local = new int[16];
+            int count = 0;
+            for (int pos = from; pos < to; pos++) {
+                int u = frontier[pos];
+                int base = graph.offsets[u];
+                for (int i = base, end = graph.offsets[u + 1]; i < end; i++) {
+                    int v = graph.targets[i];
+                    if (visited.get(v)) continue;
+                    long key = ((long) pos << 32) | (i - base);
+                    long current = keys.get(v);
+                    while (key < current) {
+                        if (keys.compareAndSet(v, current, key)) {
+                            if (current == UNSEEN) { // First to reach v this level records it
+                                if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                                local[count++] = v;
+                            }
+                            break;
+                        }
+                        current = keys.get(v);
+                    }
+                }
+            }
+            found = Arrays.copyOf(local, count);
+        }
+    }
+
+    // --- Bottom-up: each unvisited node looks for its best parent in the frontier ---
+
+    private int[] bottomUpStep(BitSet visited, int[] frontierPos, AtomicLongArray keys) {
+        if (reverseOffsets == null) buildReverse();
+        BottomUpTask task = new BottomUpTask(visited, frontierPos, keys, 0, graph.nodeCount);
+        pool.invoke(task);
+        return task.found;
+    }
+
+    @SuppressWarnings("serial")
+    private final class BottomUpTask extends RecursiveAction {
+        private final BitSet visited;
+        private final int[] frontierPos;
+        private final AtomicLongArray keys;
+        private final int from, to;
+        int[] found;
+
+        BottomUpTask(BitSet visited, int[] frontierPos, AtomicLongArray keys, int from, int to) {
+            this.visited = visited;
+            this.frontierPos = frontierPos;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                BottomUpTask left = new BottomUpTask(visited, frontierPos, keys, from, mid);
+                BottomUpTask right = new BottomUpTask(visited, frontierPos, keys, mid, to);
+                invokeAll(left, right);
+                found = concat(left.found, right.found);
+                return;
+            }
+            int[] local = new int[16];
+            int count = 0;
+            for (int v = from; v < to; v++) {
+                if (visited.get(v)) continue;
+                long best = UNSEEN;
+                for (int i = reverseOffsets[v], end = reverseOffsets[v + 1]; i < end; i++) {
+                    int pos = frontierPos[reverseSources[i]];
+                    if (pos >= 0) {
+                        best = Math.min(best, ((long) pos << 32) | reverseEdgeOffsets[i]);
+                    }
+                }
+                if (best != UNSEEN) {
+                    keys.set(v, best); // v belongs to this task alone, no CAS needed
+                    if (count == local.length) local = Arrays.copyOf(local, count * 2);
+                    local[count++] = v;
+                }
+            }
+            found = Arrays.copyOf(local, count);
+        }
+    }
+
+    private void buildReverse() {
+        int n = graph.nodeCount;
+        int[] offsets = new int[n + 1];
+        for (int target : graph.targets) offsets[target + 1]++;
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] sources = new int[graph.targets.length];
+        int[] edgeOffsets = new int[graph.targets.length];
+        for (int u = 0; u < n; u++) {
+            for (int i = graph.offsets[u]; i < graph.offsets[u + 1]; i++) {
+                int slot = next[graph.targets[i]]++;
+                sources[slot] = u;
+                edgeOffsets[slot] = i - graph.offsets[u];
+            }
+        }
+        reverseOffsets = offsets;
+        reverseSources = sources;
+        reverseEdgeOffsets = edgeOffsets;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
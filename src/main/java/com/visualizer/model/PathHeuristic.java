@@ -0,0 +1,14 @@
+package com.visualizer.model;
+
+/**
+ * Lower bound on the remaining distance from a node to the target, used by A*.
+ * It must never overestimate, or A* may return a longer path than Dijkstra.
+ */
+@FunctionalInterface
+public interface PathHeuristic {
+
+    /** No estimate at all; A* then behaves exactly like Dijkstra. */
+    PathHeuristic NONE = (node, target) -> 0;
+
+    double estimate(GraphModel.Node node, GraphModel.Node target);
+}
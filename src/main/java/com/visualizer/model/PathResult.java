@@ -0,0 +1,25 @@
+package com.visualizer.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a shortest-path search.
+ * @param path          Nodes from source to target, or empty if the target was not reached or not given.
+ * @param distance      Total weight of the path; infinite if unreachable, NaN after a negative cycle.
+ * @param trace         What the algorithm did, in order, for animation; empty unless requested.
+ * @param settled       Number of nodes whose final distance was fixed (or relaxations, for Bellman-Ford).
+ * @param negativeCycle True if Bellman-Ford found a negative cycle reachable from the source.
+ */
+public record PathResult(List<GraphModel.Node> path, double distance, List<Step> trace,
+                         int settled, boolean negativeCycle) {
+
+    public enum StepKind {
+        /** A shorter distance to node was found through via. */
+        RELAX,
+        /** The node's distance is final. */
+        SETTLE
+    }
+
+    public record Step(StepKind kind, GraphModel.Node node, GraphModel.Node via, double distance) {
+    }
+}
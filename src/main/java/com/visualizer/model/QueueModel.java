@@ -3,21 +3,26 @@ package com.visualizer.model;
 import com.visualizer.database.DatabaseInterface;
 
 public class QueueModel {
+    private static final String STRUCTURE = "Queue";
+    private static final int INITIAL_ARRAY_SIZE = 16;
+
     private final int capacity;
-    private final String[] queueArray;
+    private String[] queueArray; // Circular, and grows on demand like StackModel
     private int head;
     private int tail;
     private int size;
-    private final DatabaseInterface db;
+    private final ModelListeners listeners = new ModelListeners();
+    private final OperationLogListener log; // Subscribed first, so operations are logged before views react
 
     public QueueModel(int capacity, DatabaseInterface db) {
         this.capacity = capacity;
-        this.queueArray = new String[capacity];
+        this.queueArray = new String[Math.min(capacity, INITIAL_ARRAY_SIZE)];
         this.head = 0;
         this.tail = -1;
         this.size = 0;
-        this.db = db;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('Queue', 'Create', 'Capacity " + capacity + "')");
+        this.log = new OperationLogListener(STRUCTURE, db, () -> SnapshotCodec.encode(this));
+        listeners.add(log);
+        listeners.operation(Operation.CREATE, "Capacity " + capacity);
     }
 
     public boolean isFull() {
@@ -28,14 +33,44 @@ public class QueueModel {
         return size == 0;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the element at the given position, 0 being the front of the queue.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside the queue.");
+        }
+        return queueArray[(head + index) % queueArray.length];
+    }
+
+    public void addListener(ModelListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
+    }
+
     public void enqueue(String value) {
         if (isFull()) {
             throw new IllegalStateException("Queue is full. Cannot enqueue " + value);
         }
-        tail = (tail + 1) % capacity;
+        if (size == queueArray.length) {
+            grow();
+        }
+        tail = (tail + 1) % queueArray.length;
         queueArray[tail] = value;
         size++;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('Queue', 'Enqueue', '%s')", value.replace("'", "''")));
+        listeners.operation(Operation.ENQUEUE, value);
+        listeners.inserted(size - 1, value);
     }
 
     public String dequeue() {
@@ -43,16 +78,36 @@ public class QueueModel {
             throw new IllegalStateException("Queue is empty. Cannot dequeue.");
         }
         String value = queueArray[head];
-        head = (head + 1) % capacity;
+        queueArray[head] = null; // Let the dequeued value be collected
+        head = (head + 1) % queueArray.length;
         size--;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('Queue', 'Dequeue', '%s')", value.replace("'", "''")));
+        listeners.operation(Operation.DEQUEUE, value);
+        listeners.removed(0, value);
         return value;
     }
 
     public void reset() {
+        queueArray = new String[Math.min(capacity, INITIAL_ARRAY_SIZE)];
         head = 0;
         tail = -1;
         size = 0;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('Queue', 'Reset', NULL)");
+        listeners.operation(Operation.RESET, null);
+        listeners.cleared();
+    }
+
+    // Unwraps the ring into a larger array with the front at index 0
+    private void grow() {
+        String[] larger = new String[ArrayGrowth.nextLength(queueArray.length, capacity)];
+        for (int i = 0; i < size; i++) {
+            larger[i] = queueArray[(head + i) % queueArray.length];
+        }
+        queueArray = larger;
+        head = 0;
+        tail = size - 1;
+    }
+
+    // Lets OperationLogReplayer rebuild the model without logging, then hand it the real database
+    void attachDatabase(DatabaseInterface db) {
+        log.attach(db);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.visualizer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Shortest-path searches over a weighted CsrGraph. Distances, parents and the heap are
+ * primitive arrays indexed by node number; Node objects are only created for the result
+ * and, when asked for, the step trace.
+ */
+final class ShortestPaths {
+
+    private ShortestPaths() {
+    }
+
+    /**
+     * Dijkstra when heuristic is null, A* otherwise. A target of -1 searches the whole graph.
+     * A node is reopened if a shorter path to it turns up later, so an admissible but
+     * inconsistent heuristic still gives the shortest path.
+     */
+    static PathResult search(CsrGraph graph, int source, int target, IntToDoubleFunction heuristic,
+                             IntFunction<GraphModel.Node> nodes, boolean recordTrace) {
+        int n = graph.nodeCount;
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        double[] estimate = heuristic == null ? null : new double[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        if (estimate != null) Arrays.fill(estimate, Double.NaN);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+        List<PathResult.Step> trace = recordTrace ? new ArrayList<>() : List.of();
+        int settledCount = 0;
+
+        dist[source] = 0;
+        heap.insertOrDecrease(source, estimate(heuristic, estimate, source));
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            if (recordTrace) trace.add(new PathResult.Step(PathResult.StepKind.SETTLE, nodes.apply(u), null, dist[u]));
+            if (u == target) break;
+
+            for (int i = graph.offsets[u], end = graph.offsets[u + 1]; i < end; i++) {
+                int v = graph.targets[i];
+                double candidate = dist[u] + graph.weights[i];
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    heap.insertOrDecrease(v, candidate + estimate(heuristic, estimate, v));
+                    if (recordTrace) {
+                        trace.add(new PathResult.Step(PathResult.StepKind.RELAX, nodes.apply(v), nodes.apply(u), candidate));
+                    }
+                }
+            }
+        }
+        return result(dist, parent, source, target, nodes, trace, settledCount, false);
+    }
+
+    /**
+     * Bellman-Ford with negative weights allowed. Each round only relaxes edges out of nodes whose
+     * distance changed in the previous round; a change in round n means a negative cycle.
+     */
+    static PathResult bellmanFord(CsrGraph graph, int source, int target,
+                                  IntFunction<GraphModel.Node> nodes, boolean recordTrace) {
+        int n = graph.nodeCount;
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        List<PathResult.Step> trace = recordTrace ? new ArrayList<>() : List.of();
+        int relaxations = 0;
+
+        dist[source] = 0;
+        BitSet active = new BitSet(n);
+        active.set(source);
+        for (int round = 0; round < n && !active.isEmpty(); round++) {
+            BitSet next = new BitSet(n);
+            for (int u = active.nextSetBit(0); u >= 0; u = active.nextSetBit(u + 1)) {
+                for (int i = graph.offsets[u], end = graph.offsets[u + 1]; i < end; i++) {
+                    int v = graph.targets[i];
+                    double candidate = dist[u] + graph.weights[i];
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        parent[v] = u;
+                        next.set(v);
+                        relaxations++;
+                        if (recordTrace) {
+                            trace.add(new PathResult.Step(PathResult.StepKind.RELAX, nodes.apply(v), nodes.apply(u), candidate));
+                        }
+                    }
+                }
+            }
+            active = next;
+        }
+        return result(dist, parent, source, target, nodes, trace, relaxations, !active.isEmpty());
+    }
+
+    private static double estimate(IntToDoubleFunction heuristic, double[] cache, int node) {
+        if (heuristic == null) return 0;
+        if (Double.isNaN(cache[node])) cache[node] = heuristic.applyAsDouble(node);
+        return cache[node];
+    }
+
+    private static PathResult result(double[] dist, int[] parent, int source, int target,
+                                     IntFunction<GraphModel.Node> nodes, List<PathResult.Step> trace,
+                                     int settled, boolean negativeCycle) {
+        if (negativeCycle) {
+            return new PathResult(List.of(), Double.NaN, trace, settled, true);
+        }
+        if (target < 0 || dist[target] == Double.POSITIVE_INFINITY) {
+            return new PathResult(List.of(), target < 0 ? 0 : Double.POSITIVE_INFINITY, trace, settled, false);
+        }
+        List<GraphModel.Node> path = new ArrayList<>();
+        for (int v = target; v != -1; v = v == source ? -1 : parent[v]) {
+            path.add(nodes.apply(v));
+        }
+        Collections.reverse(path);
+        return new PathResult(path, dist[target], trace, settled, false);
+    }
+}
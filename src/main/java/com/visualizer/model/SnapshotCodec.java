@@ -0,0 +1,246 @@
+package com.visualizer.model;
+
+import com.visualizer.database.DatabaseInterface;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary snapshots of model state, stored in structure_snapshots.
+ * Each snapshot starts with a type tag and a format version so old rows can be detected.
+ * Decoding rebuilds the model through its public operations, logging to the given database.
+ */
+public final class SnapshotCodec {
+
+    // Version 2 added graph edge weights, version 3 the BST balance mode, version 4 the linked list linking
+    // and version 5 strings of any length; older snapshots are still readable
+    private static final byte VERSION = 5;
+
+    private static final byte TYPE_STACK = 1;
+    private static final byte TYPE_QUEUE = 2;
+    private static final byte TYPE_LINKED_LIST = 3;
+    private static final byte TYPE_BST = 4;
+    private static final byte TYPE_GRAPH = 5;
+
+    private SnapshotCodec() {
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInputStream in, int version) throws IOException;
+    }
+
+    // --- Encoding ---
+
+    public static byte[] encode(StackModel model) {
+        return write(TYPE_STACK, out -> {
+            out.writeInt(model.getCapacity());
+            out.writeInt(model.getSize());
+            for (int i = 0; i < model.getSize(); i++) { // Bottom to top
+                writeString(out, model.get(i));
+            }
+        });
+    }
+
+    public static byte[] encode(QueueModel model) {
+        return write(TYPE_QUEUE, out -> {
+            out.writeInt(model.getCapacity());
+            out.writeInt(model.getSize());
+            for (int i = 0; i < model.getSize(); i++) { // Front to back
+                writeString(out, model.get(i));
+            }
+        });
+    }
+
+    public static byte[] encode(LinkedListModel model) {
+        return write(TYPE_LINKED_LIST, out -> {
+            out.writeInt(model.getCapacity());
+            out.writeByte(model.getLinking().ordinal());
+            out.writeInt(model.getSize());
+            for (LinkedListModel.Node n = model.getHead(); n != null; n = n.next) {
+                writeString(out, n.value);
+            }
+        });
+    }
+
+    // Keys in level order rebuild the exact shape of a plain or AVL tree, since every prefix of an
+    // AVL level order is itself balanced; red-black trees come back valid but may be coloured differently
+    public static byte[] encode(BinaryTreeModel model) {
+        return write(TYPE_BST, out -> {
+            out.writeInt(model.getCapacity());
+            out.writeByte(model.getBalance().ordinal());
+            out.writeInt(model.getSize());
+            Deque<BinaryTreeModel.Node> queue = new ArrayDeque<>();
+            if (model.getRoot() != null) queue.add(model.getRoot());
+            while (!queue.isEmpty()) {
+                BinaryTreeModel.Node node = queue.poll();
+                out.writeInt(node.value);
+                if (node.left != null) queue.add(node.left);
+                if (node.right != null) queue.add(node.right);
+            }
+        });
+    }
+
+    // Nodes are written once; edges refer to them by position
+    public static byte[] encode(GraphModel model) {
+        return write(TYPE_GRAPH, out -> {
+            Map<GraphModel.Node, Integer> index = new HashMap<>();
+            out.writeInt(model.getNodes().size());
+            for (GraphModel.Node node : model.getNodes()) {
+                index.put(node, index.size());
+                writeString(out, node.id);
+            }
+            List<GraphModel.Edge> edges = model.getEdges();
+            out.writeInt(edges.size());
+            for (GraphModel.Edge edge : edges) {
+                out.writeInt(index.get(edge.source));
+                out.writeInt(index.get(edge.destination));
+                out.writeDouble(edge.weight);
+            }
+        });
+    }
+
+    // --- Decoding ---
+
+    public static StackModel decodeStack(byte[] data, DatabaseInterface db) {
+        return read(data, TYPE_STACK, (in, version) -> {
+            StackModel model = new StackModel(in.readInt(), db);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                model.push(readString(in, version));
+            }
+            return model;
+        });
+    }
+
+    public static QueueModel decodeQueue(byte[] data, DatabaseInterface db) {
+        return read(data, TYPE_QUEUE, (in, version) -> {
+            QueueModel model = new QueueModel(in.readInt(), db);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                model.enqueue(readString(in, version));
+            }
+            return model;
+        });
+    }
+
+    public static LinkedListModel decodeLinkedList(byte[] data, DatabaseInterface db) {
+        return read(data, TYPE_LINKED_LIST, (in, version) -> {
+            int capacity = in.readInt();
+            LinkedListModel.Linking linking = version >= 4
+                    ? readMode(in, LinkedListModel.Linking.values(), "linked list linking")
+                    : LinkedListModel.Linking.SINGLY;
+            LinkedListModel model = new LinkedListModel(capacity, db, linking);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                model.addLast(readString(in, version));
+            }
+            return model;
+        });
+    }
+
+    public static BinaryTreeModel decodeBinaryTree(byte[] data, DatabaseInterface db) {
+        return read(data, TYPE_BST, (in, version) -> {
+            int capacity = in.readInt();
+            BinaryTreeModel.Balance balance = version >= 3
+                    ? readMode(in, BinaryTreeModel.Balance.values(), "tree balance mode")
+                    : BinaryTreeModel.Balance.NONE;
+            BinaryTreeModel model = new BinaryTreeModel(capacity, db, balance);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                model.insert(in.readInt());
+            }
+            return model;
+        });
+    }
+
+    public static GraphModel decodeGraph(byte[] data, DatabaseInterface db) {
+        return read(data, TYPE_GRAPH, (in, version) -> {
+            GraphModel model = new GraphModel(db);
+            int nodeCount = in.readInt();
+            String[] ids = new String[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                ids[i] = readString(in, version);
+                model.addNode(ids[i]);
+            }
+            int edgeCount = in.readInt();
+            for (int i = 0; i < edgeCount; i++) {
+                String source = ids[in.readInt()];
+                String destination = ids[in.readInt()];
+                model.addEdge(source, destination, version >= 2 ? in.readDouble() : GraphModel.DEFAULT_WEIGHT);
+            }
+            return model;
+        });
+    }
+
+    // --- Helpers ---
+
+    private static <E extends Enum<E>> E readMode(DataInputStream in, E[] modes, String what) throws IOException {
+        int ordinal = in.readByte();
+        if (ordinal < 0 || ordinal >= modes.length) {
+            throw new IllegalArgumentException("Unknown " + what + " " + ordinal + ".");
+        }
+        return modes[ordinal];
+    }
+
+    private static byte[] write(byte type, Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            out.writeByte(VERSION);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen for an in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> T read(byte[] data, byte type, Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != type) {
+                throw new IllegalArgumentException("Snapshot belongs to a different structure.");
+            }
+            int version = in.readByte();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version.");
+            }
+            return reader.read(in, version);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt snapshot: " + e.getMessage(), e);
+        }
+    }
+
+    // Length-prefixed UTF-8, -1 for null. writeUTF is not used: it rejects strings over 65,535 bytes.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, int version) throws IOException {
+        if (version < 5) return in.readBoolean() ? in.readUTF() : null;
+        int length = in.readInt();
+        if (length == -1) return null;
+        if (length < 0 || length > in.available()) throw new IOException("bad string length " + length);
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -2,18 +2,25 @@ package com.visualizer.model;
 
 import com.visualizer.database.DatabaseInterface;
 
+import java.util.Arrays;
+
 public class StackModel {
+    private static final String STRUCTURE = "Stack";
+    private static final int INITIAL_ARRAY_SIZE = 16;
+
     private final int capacity;
-    private final String[] stackArray;
+    private String[] stackArray; // Grows on demand, so a large capacity costs nothing until it is used
     private int top;
-    private final DatabaseInterface db;
+    private final ModelListeners listeners = new ModelListeners();
+    private final OperationLogListener log; // Subscribed first, so operations are logged before views react
 
     public StackModel(int capacity, DatabaseInterface db) {
         this.capacity = capacity;
-        this.stackArray = new String[capacity];
+        this.stackArray = new String[Math.min(capacity, INITIAL_ARRAY_SIZE)];
         this.top = -1;
-        this.db = db;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('Stack', 'Create', 'Capacity " + capacity + "')");
+        this.log = new OperationLogListener(STRUCTURE, db, () -> SnapshotCodec.encode(this));
+        listeners.add(log);
+        listeners.operation(Operation.CREATE, "Capacity " + capacity);
     }
 
     public boolean isFull() {
@@ -24,25 +31,64 @@ public class StackModel {
         return top == -1;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return top + 1;
+    }
+
+    /**
+     * Returns the element at the given position, 0 being the bottom of the stack.
+     */
+    public String get(int index) {
+        if (index < 0 || index > top) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside the stack.");
+        }
+        return stackArray[index];
+    }
+
+    public void addListener(ModelListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ModelListener listener) {
+        listeners.remove(listener);
+    }
+
     public void push(String value) {
         if (isFull()) {
             throw new IllegalStateException("Stack is full. Cannot push " + value);
         }
+        if (top + 1 == stackArray.length) {
+            stackArray = Arrays.copyOf(stackArray, ArrayGrowth.nextLength(stackArray.length, capacity));
+        }
         stackArray[++top] = value;
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('Stack', 'Push', '%s')", value.replace("'", "''")));
+        listeners.operation(Operation.PUSH, value);
+        listeners.inserted(top, value);
     }
 
     public String pop() {
         if (isEmpty()) {
             throw new IllegalStateException("Stack is empty. Cannot pop.");
         }
-        String value = stackArray[top--];
-        db.executeUpdate(String.format("INSERT INTO operation_logs (structure, operation, value) VALUES ('Stack', 'Pop', '%s')", value.replace("'", "''")));
+        String value = stackArray[top];
+        stackArray[top--] = null; // Let the popped value be collected
+        listeners.operation(Operation.POP, value);
+        listeners.removed(top + 1, value);
         return value;
     }
 
     public void reset() {
         top = -1;
-        db.executeUpdate("INSERT INTO operation_logs (structure, operation, value) VALUES ('Stack', 'Reset', NULL)");
+        stackArray = new String[Math.min(capacity, INITIAL_ARRAY_SIZE)];
+        listeners.operation(Operation.RESET, null);
+        listeners.cleared();
+    }
+
+    // Lets OperationLogReplayer rebuild the model without logging, then hand it the real database
+    void attachDatabase(DatabaseInterface db) {
+        log.attach(db);
     }
-}
\ No newline at end of file
+}